@@ -0,0 +1,74 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.mygdx.game.Assets;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.controller.WorldRenderer;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.desktop.NoOpGL20;
+import com.mygdx.game.model.Level;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation regression check for the frame loop. Runs level1 headless (update and render, on {@link NoOpGL20}) with
+ * scripted input, then measures the bytes the thread allocates over a number of further frames and fails if they
+ * exceed the budget. The steady state is expected to allocate nothing; the budget only absorbs noise from the JVM.
+ *
+ * Usage: AllocationBudgetCheck [frames] [budget in bytes]
+ */
+public class AllocationBudgetCheck {
+
+    public static final int WARMUP_FRAMES = 5000;
+    public static final int DEFAULT_FRAMES = 20000;
+    public static final long DEFAULT_BUDGET = 16 * 1024;
+
+    /* frame times the loop cycles through, so the accumulator runs zero, one and two ticks per frame */
+    private static final float[] DELTAS = { 1 / 60f, 1 / 30f, 1 / 120f, 1 / 45f };
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_BUDGET;
+
+        HeadlessBootstrap.init();
+        AssetManager assets = new AssetManager();
+        Assets.queue(assets);
+        assets.finishLoading();
+        GameWorld world = new GameWorld(new Level(assets.get(Assets.LEVEL)));
+        WorldRenderer renderer = new WorldRenderer(world, assets.get(Assets.ATLAS), assets.get(Assets.FONT));
+
+        // lets one-time work (array growth, label layout, class loading, JIT) happen before measuring
+        run(world, renderer, 0, WARMUP_FRAMES);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        run(world, renderer, WARMUP_FRAMES, frames);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        System.out.println(frames + " frames allocated " + allocated + " bytes (budget " + budget + ")");
+        if (allocated > budget) {
+            System.err.println("Allocation budget exceeded");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Walks right most of the time, turns around every few seconds and keeps jumping, which gets the player shot,
+     * respawned and scored.
+     */
+    private static void run(GameWorld world, WorldRenderer renderer, int firstFrame, int frames) {
+        for (int frame = firstFrame; frame < firstFrame + frames; frame++) {
+            boolean left = (frame / 97) % 3 == 0;
+            world.setLeftPressed(left);
+            world.setRightPressed(!left);
+            if (frame % 41 == 0) world.pressJump();
+            if (frame % 41 == 9) world.releaseJump();
+
+            float delta = DELTAS[frame % DELTAS.length];
+            world.update(delta);
+            renderer.render(delta);
+        }
+    }
+}
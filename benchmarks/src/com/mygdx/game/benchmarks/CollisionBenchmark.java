@@ -0,0 +1,79 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tile and broadphase queries the player's systems issue every tick, over the same boxes they use.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private final IntArray out = new IntArray();
+    private final Rectangle box = new Rectangle();
+
+    @Benchmark
+    public boolean anySolid(WorldState state) {
+        Rectangle player = player(state);
+        int startX = (int)player.x;
+        int endX = (int)(player.x + player.width);
+        int startY = (int)(player.y - 1);
+        int endY = (int)(player.y + player.height);
+        return state.world.getLevel().anySolid(startX, startY, endX, endY);
+    }
+
+    @Benchmark
+    public int queryEnemies(WorldState state) {
+        Rectangle player = player(state);
+        return state.world.getEnemyGrid().query(startX(player), startY(player), endX(player), endY(player), out);
+    }
+
+    @Benchmark
+    public int queryBullets(WorldState state) {
+        Rectangle player = player(state);
+        return state.world.getBullets().getGrid().query(startX(player), startY(player), endX(player), endY(player), out);
+    }
+
+    private Rectangle player(WorldState state) {
+        Entity player = state.world.getPlayer();
+        Vector2 position = Mappers.position.get(player).position;
+        ColliderComponent collider = Mappers.collider.get(player);
+        return box.set(position.x, position.y, collider.width, collider.height);
+    }
+
+    private static int startX(Rectangle player) {
+        return (int)(player.x - player.width);
+    }
+
+    private static int endX(Rectangle player) {
+        return (int)(player.x + player.width * 2);
+    }
+
+    private static int startY(Rectangle player) {
+        return (int)(player.y - player.height);
+    }
+
+    private static int endY(Rectangle player) {
+        return (int)(player.y + player.height * 2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.desktop.ForkJoinTaskRunner;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.systems.BulletSystem;
+import com.mygdx.game.systems.FiringSystem;
+import com.mygdx.game.systems.TaskRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enemy fire of a horde on the synthetic map, with the decide phase on the serial runner ({@code threads} 0) or on a
+ * fork-join pool of the given size. {@link #tick()} is one scheduled tick, with the evaluations spread over the
+ * cooldown; compare its rows of one horde size for the speedup by core count. A pool larger than the machine's cores
+ * can't go faster than the cores do. {@link #fire()} is a volley of every enemy in range at once, found through the
+ * enemy index. The horde is spread over the whole map, where only a few dozen enemies are in range, or
+ * {@code packed} within range ahead of the player, where {@link #fire()} decides every awake enemy in one volley.
+ * The bullets fired are dropped again afterwards, like in {@link UpdateBenchmark#updateEnemy}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FiringBenchmark {
+
+    @Param({ "0", "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "10000", "100000" })
+    public int enemies;
+
+    @Param({ "spread", "packed" })
+    public String placement;
+
+    private GameWorld world;
+    private FiringSystem firing;
+    private TaskRunner runner;
+
+    @Setup
+    public void setUp() {
+        HeadlessBootstrap.init();
+
+        Level level = new Level(WorldState.syntheticMap(WorldState.SYNTHETIC_WIDTH, WorldState.SYNTHETIC_HEIGHT));
+        // room for a volley of the whole horde
+        world = new GameWorld(level, enemies + BulletSystem.DEFAULT_CAPACITY);
+        world.getActiveRegion().setMargin(Float.POSITIVE_INFINITY);
+        Random random = new Random(42);
+        if (placement.equals("packed")) {
+            // the first enemy sets the range the others are packed into
+            world.addEnemy(GameWorld.SPAWN_X + 1, 2);
+            float range = world.getMaxEnemyRange();
+            for (int i = 1; i < enemies; i++) {
+                world.addEnemy(GameWorld.SPAWN_X + 1 + random.nextFloat() * (range - 1),
+                        2 + random.nextInt(level.getHeight() - 4));
+            }
+        } else {
+            for (int i = 0; i < enemies; i++) {
+                world.addEnemy(random.nextFloat() * level.getWidth(), 2);
+            }
+        }
+        world.updateActiveRegion();
+
+        runner = threads == 0 ? TaskRunner.SERIAL : new ForkJoinTaskRunner(threads);
+        world.setTaskRunner(runner);
+        firing = world.getFiring();
+    }
+
+    @TearDown
+    public void tearDown() {
+        runner.dispose();
+        world.dispose();
+    }
+
+    @Benchmark
+    public int fire() {
+        BulletSystem bullets = world.getBullets();
+        firing.fire();
+        int fired = bullets.size();
+        bullets.clear();
+        return fired;
+    }
+
+    @Benchmark
+    public int tick() {
+        BulletSystem bullets = world.getBullets();
+        firing.update(GameWorld.TICK);
+        int fired = bullets.size();
+        bullets.clear();
+        return fired;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.desktop.MappedLevelFile;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelChunk;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.model.StreamLevelFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading level1 into a {@link Level} with every chunk resident: from the .tmx through TmxMapLoader, and from the
+ * compiled .lvl through a stream and through a memory mapping. The TMX path also decodes the tileset image, which
+ * {@link #tilesetTexture} measures on its own so it can be subtracted. The chunk benchmarks read a single chunk of an
+ * open level file, which is what streaming costs per chunk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+
+    private FileHandle levelFile;
+    private LevelFile stream;
+    private LevelFile mapped;
+    private LevelChunk chunk;
+
+    @Setup
+    public void setUp() {
+        HeadlessBootstrap.init();
+        levelFile = Gdx.files.internal("level1.lvl");
+        stream = new StreamLevelFile(levelFile);
+        mapped = new MappedLevelFile(levelFile);
+        chunk = new LevelChunk(stream.getHeight(), stream.getLayerCount());
+    }
+
+    @Benchmark
+    public Level tmx() {
+        TiledMap map = new TmxMapLoader().load("level1.tmx");
+        Level level = new Level(map);
+        map.dispose();
+        return level;
+    }
+
+    @Benchmark
+    public Level stream() {
+        return new Level(new StreamLevelFile(levelFile), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Level mapped() {
+        return new Level(new MappedLevelFile(levelFile), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public void tilesetTexture() {
+        new Texture("tileSet.png").dispose();
+    }
+
+    @Benchmark
+    public LevelChunk streamChunk() {
+        stream.read(stream.getChunkCount() - 1, chunk);
+        return chunk;
+    }
+
+    @Benchmark
+    public LevelChunk mappedChunk() {
+        mapped.read(mapped.getChunkCount() - 1, chunk);
+        return chunk;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.components.VelocityComponent;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.physics.Box2DPhysics;
+import com.mygdx.game.physics.PhysicsBackend;
+import com.mygdx.game.physics.TilePhysics;
+import com.mygdx.game.systems.BulletSystem;
+import com.mygdx.game.systems.CollisionSystem;
+import com.mygdx.game.systems.MovementSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One physics tick (both phases) of each {@link PhysicsBackend} with a crowd of bodies running and jumping around the
+ * synthetic map. The bodies head for the middle of the map when a platform stops them and jump whenever they land,
+ * so they keep hitting the floor and the platforms. The crowd control is the same for both backends and part of the
+ * time. At 60 ticks per second the frame budget is 16.6 ms, of which physics should take a small share.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhysicsBenchmark {
+
+    @Param({ "tile", "box2d" })
+    public String backend;
+
+    @Param({ "100", "500", "2000" })
+    public int bodies;
+
+    private GameWorld world;
+    private CollisionSystem collision;
+    private MovementSystem movement;
+    private ImmutableArray<Entity> crowd;
+
+    @Setup
+    public void setUp() {
+        HeadlessBootstrap.init();
+
+        Level level = new Level(WorldState.syntheticMap(WorldState.SYNTHETIC_WIDTH, WorldState.SYNTHETIC_HEIGHT));
+        PhysicsBackend physics = backend.equals("tile") ? new TilePhysics(level) : new Box2DPhysics(level);
+        world = new GameWorld(level, BulletSystem.DEFAULT_CAPACITY, physics);
+        collision = world.getEngine().getSystem(CollisionSystem.class);
+        movement = world.getEngine().getSystem(MovementSystem.class);
+
+        Random random = new Random(42);
+        for (int i = 0; i < bodies; i++) {
+            Entity body = new Entity();
+            body.add(new PositionComponent().set(random.nextFloat() * (level.getWidth() - 2), 3 + random.nextFloat() * 12));
+            VelocityComponent velocity = new VelocityComponent();
+            velocity.velocity.x = random.nextBoolean() ? PlayerComponent.MAX_VELOCITY : -PlayerComponent.MAX_VELOCITY;
+            body.add(velocity);
+            body.add(new ColliderComponent().set(PlayerComponent.WIDTH, PlayerComponent.HEIGHT));
+            world.getEngine().addEntity(body);
+        }
+        crowd = world.getEngine().getEntitiesFor(CollisionSystem.BODIES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public GameWorld tick() {
+        for (int i = 0; i < crowd.size(); i++) {
+            Entity body = crowd.get(i);
+            VelocityComponent velocity = Mappers.velocity.get(body);
+            ColliderComponent collider = Mappers.collider.get(body);
+            if (Math.abs(velocity.velocity.x) < 1) {
+                velocity.velocity.x = Mappers.position.get(body).position.x < WorldState.SYNTHETIC_WIDTH / 2
+                        ? PlayerComponent.MAX_VELOCITY : -PlayerComponent.MAX_VELOCITY;
+            }
+            if (collider.grounded) {
+                collider.grounded = false;
+                velocity.velocity.y = PlayerComponent.MAX_JUMP_SPEED;
+            }
+            velocity.velocity.y += PlayerComponent.GRAVITY * GameWorld.TICK;
+        }
+        collision.update(GameWorld.TICK);
+        movement.update(GameWorld.TICK);
+        return world;
+    }
+}
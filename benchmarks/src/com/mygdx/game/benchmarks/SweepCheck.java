@@ -0,0 +1,138 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.physics.TileSweep;
+import com.mygdx.game.systems.BulletSystem;
+
+import java.util.Random;
+
+/**
+ * Regression check for {@link TileSweep} on the synthetic map. Bullets flying through rows that are clear up to the
+ * edge of the map, to the right and to the left, have to survive their whole path; and boxes moving far in one tick
+ * have to stop at the first column that really has a solid tile in their rows, found by testing every tile. Fails
+ * with the first mismatch.
+ *
+ * Usage: SweepCheck [bullets] [boxes]
+ */
+public class SweepCheck {
+
+    public static final int DEFAULT_BULLETS = 1000;
+    public static final int DEFAULT_BOXES = 10000;
+
+    /* tiles a fast box moves in one tick, further than any wall is apart on the synthetic map */
+    private static final float FAST_MOVE = 40;
+
+    public static void main(String[] args) {
+        int bullets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BULLETS;
+        int boxes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BOXES;
+
+        HeadlessBootstrap.init();
+        Level level = new Level(WorldState.syntheticMap(WorldState.SYNTHETIC_WIDTH, WorldState.SYNTHETIC_HEIGHT));
+        GameWorld world = new GameWorld(level, 2 * bullets + BulletSystem.DEFAULT_CAPACITY);
+        world.getActiveRegion().setMargin(Float.POSITIVE_INFINITY);
+        world.updateActiveRegion();
+
+        boolean passed = checkBullets(world, bullets, new Random(42)) && checkBoxes(level, boxes, new Random(43));
+        world.dispose();
+        level.dispose();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Right-bound bullets from {@link WorldState#populate}, plus as many left-bound ones in rows clear down to column
+     * 0, flown until all of the left-bound ones left the map.
+     */
+    private static boolean checkBullets(GameWorld world, int count, Random random) {
+        Level level = world.getLevel();
+        world.getBullets().clear();
+        WorldState.populate(world, count, random);
+
+        float farthest = 0;
+        for (int i = 0; i < count; i++) {
+            float x;
+            int row;
+            do {
+                x = GameWorld.SPAWN_X + 5 + random.nextFloat() * (level.getWidth() - GameWorld.SPAWN_X - 5);
+                row = 2 + random.nextInt(level.getHeight() - 4);
+            } while (level.anySolid(0, row, (int)x + 1, row));
+            world.spawnBullet(x, row + 0.3f, -PlayerComponent.MAX_VELOCITY, 0);
+            farthest = Math.max(farthest, x);
+        }
+
+        BulletSystem system = world.getBullets();
+        int spawned = system.size();
+        int ticks = (int)(farthest / (PlayerComponent.MAX_VELOCITY * GameWorld.TICK)) + 2;
+        for (int tick = 0; tick < ticks; tick++) {
+            // only the left-bound bullets that went past column 0 may be dropped
+            int expected = system.size();
+            for (int i = 0; i < system.size(); i++) {
+                if (system.getX(i) < 0) expected--;
+            }
+            world.updateBullets(GameWorld.TICK);
+            if (system.size() != expected) {
+                System.err.println("Bullets in clear rows dropped on tick " + tick + ": " + system.size() + " left, expected "
+                        + expected);
+                return false;
+            }
+        }
+        if (system.size() != count) {
+            System.err.println(system.size() + " bullets left, expected the " + count + " right-bound ones");
+            return false;
+        }
+        System.out.println(spawned + " bullets in clear rows survived " + ticks + " ticks");
+        return true;
+    }
+
+    /**
+     * Sweeps boxes of the player's size that start in clear tiles far to the left or right, and compares the column
+     * hit with the first solid column found tile by tile.
+     */
+    private static boolean checkBoxes(Level level, int count, Random random) {
+        TileSweep sweep = new TileSweep(level);
+        float width = PlayerComponent.WIDTH;
+        float height = PlayerComponent.HEIGHT;
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            float x;
+            float y;
+            do {
+                x = FAST_MOVE + random.nextFloat() * (level.getWidth() - 2 * FAST_MOVE);
+                y = 2 + random.nextFloat() * (level.getHeight() - 4 - height);
+            } while (level.anySolid((int)x, (int)y, (int)Math.ceil(x + width) - 1, (int)Math.ceil(y + height) - 1));
+            float dx = random.nextBoolean() ? FAST_MOVE : -FAST_MOVE;
+
+            int expected = firstSolidColumn(level, x, y, width, height, dx);
+            boolean hit = sweep.sweep(x, y, width, height, dx, 0);
+            int actual = hit ? sweep.getTileX() : -1;
+            if (actual != expected) {
+                System.err.println("Box at (" + x + ", " + y + ") moving " + dx + " stopped at column " + actual
+                        + ", the first wall is at " + expected);
+                return false;
+            }
+            if (hit) hits++;
+        }
+        System.out.println(count + " fast boxes, " + hits + " stopped at the first wall column");
+        return true;
+    }
+
+    /**
+     * @return the first column the box enters during the move that has a solid tile in its rows, or -1
+     */
+    private static int firstSolidColumn(Level level, float x, float y, float width, float height, float dx) {
+        int bottom = (int)Math.floor(y);
+        int top = (int)Math.ceil(y + height) - 1;
+        if (dx > 0) {
+            for (int column = (int)Math.ceil(x + width); column <= x + width + dx; column++) {
+                if (level.anySolid(column, bottom, column, top)) return column;
+            }
+        } else {
+            for (int column = (int)Math.floor(x) - 1; column + 1 >= x + dx; column--) {
+                if (level.anySolid(column, bottom, column, top)) return column;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mygdx.game.benchmarks;
+
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.systems.BulletSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-tick update passes of {@link GameWorld}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBenchmark {
+
+    @Benchmark
+    public GameWorld updatePlayer(WorldState state) {
+        state.world.updatePlayer(GameWorld.TICK);
+        return state.world;
+    }
+
+    /**
+     * One volley. The bullets it fires are dropped again afterwards so the population doesn't grow between
+     * invocations; that truncation is part of the measured time.
+     */
+    @Benchmark
+    public int updateEnemy(WorldState state) {
+        BulletSystem bullets = state.world.getBullets();
+        int before = bullets.size();
+        state.world.updateEnemy(GameWorld.TICK);
+        int fired = bullets.size() - before;
+        while (bullets.size() > before) {
+            bullets.remove(bullets.size() - 1);
+        }
+        return fired;
+    }
+
+    @Benchmark
+    public GameWorld updateBullets(WorldState state) {
+        state.world.updateBullets(GameWorld.TICK);
+        return state.world;
+    }
+}
@@ -0,0 +1,120 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.desktop.HeadlessBootstrap;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.systems.BulletSystem;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * A {@link GameWorld} populated with extra enemies and bullets, on either the real level1.tmx or a synthetic
+ * 4096 tile wide map. The player stands at the spawn point; entities are scattered to the right of it so the player
+ * is never hit (a hit clears all bullets).
+ */
+@State(Scope.Thread)
+public class WorldState {
+
+    public static final int SYNTHETIC_WIDTH = 4096;
+    public static final int SYNTHETIC_HEIGHT = 20;
+
+    @Param({ "level1", "synthetic" })
+    public String map;
+
+    @Param({ "10", "1000", "100000" })
+    public int entities;
+
+    public GameWorld world;
+
+    @Setup
+    public void setUp() {
+        HeadlessBootstrap.init();
+
+        Level level = map.equals("level1") ? new Level("level1.tmx") : new Level(syntheticMap(SYNTHETIC_WIDTH, SYNTHETIC_HEIGHT));
+        // room for the population plus a few volleys
+        world = new GameWorld(level, entities + BulletSystem.DEFAULT_CAPACITY);
+
+        // let the player land so every benchmark starts from the same grounded state
+        for (int i = 0; i < 120; i++) {
+            world.updatePlayer(GameWorld.TICK);
+        }
+
+        // the populations are scattered over the whole map, keep all of it awake to measure the full update
+        world.getActiveRegion().setMargin(Float.POSITIVE_INFINITY);
+        populate(world, entities, new Random(42));
+        world.updateActiveRegion();
+    }
+
+    /**
+     * Adds the given number of enemies and bullets. Bullets fly to the right inside a row with no wall ahead of them,
+     * so that {@link GameWorld#updateBullets} never drops them and the population stays constant over a whole run.
+     */
+    public static void populate(GameWorld world, int count, Random random) {
+        Level level = world.getLevel();
+        float minX = GameWorld.SPAWN_X + 5;
+        float rangeX = level.getWidth() - minX;
+
+        for (int i = 0; i < count; i++) {
+            world.addEnemy(minX + random.nextFloat() * rangeX, 2);
+        }
+        for (int i = 0; i < count; i++) {
+            float x;
+            int row;
+            do {
+                x = minX + random.nextFloat() * rangeX;
+                row = 2 + random.nextInt(level.getHeight() - 4);
+            } while (level.anySolid((int)x, row, level.getWidth() - 1, row));
+            // bullets are a third of a tile high, this keeps them inside the row
+            world.spawnBullet(x, row + 0.3f, PlayerComponent.MAX_VELOCITY, 0);
+        }
+    }
+
+    /**
+     * A map with the same layer layout as level1 (background, walls): a two tile thick floor and a short platform
+     * every 16 tiles at a random height.
+     */
+    public static TiledMap syntheticMap(int width, int height) {
+        TiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+        tile.setId(1);
+        Random random = new Random(7);
+
+        TiledMap map = new TiledMap();
+        TiledMapTileLayer background = new TiledMapTileLayer(width, height, 16, 16);
+        background.setName("background");
+        TiledMapTileLayer walls = new TiledMapTileLayer(width, height, 16, 16);
+        walls.setName("walls");
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < 2; y++) {
+                walls.setCell(x, y, cell(tile));
+            }
+        }
+        for (int x = 16; x + 4 < width; x += 16) {
+            int y = 4 + random.nextInt(height - 8);
+            for (int i = 0; i < 4; i++) {
+                walls.setCell(x + i, y, cell(tile));
+            }
+        }
+
+        map.getLayers().add(background);
+        map.getLayers().add(walls);
+        return map;
+    }
+
+    private static Cell cell(TiledMapTile tile) {
+        Cell cell = new Cell();
+        cell.setTile(tile);
+        return cell;
+    }
+}
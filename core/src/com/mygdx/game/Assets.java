@@ -0,0 +1,62 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.mygdx.game.model.Archetypes;
+import com.mygdx.game.model.ArchetypesLoader;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.model.LevelFileLoader;
+
+/**
+ * Every asset the game loads, as descriptors for the {@link AssetManager}. Nothing is loaded on the render thread
+ * outside of the manager, so the loading screen can show progress and the first frame is never blocked.
+ */
+public final class Assets {
+
+    /** level1.tmx compiled into chunks by the desktop compileLevels task. */
+    public static final AssetDescriptor<LevelFile> LEVEL = new AssetDescriptor<LevelFile>("level1.lvl", LevelFile.class);
+
+    /** The enemies the objects of a level can spawn. */
+    public static final AssetDescriptor<Archetypes> ENEMIES = new AssetDescriptor<Archetypes>(Archetypes.FILE, Archetypes.class);
+
+    public static final AssetDescriptor<TextureAtlas> ATLAS = new AssetDescriptor<TextureAtlas>("game.atlas", TextureAtlas.class);
+
+    /** The HUD font; its page is the arial-15 region of {@link #ATLAS}. */
+    public static final AssetDescriptor<BitmapFont> FONT = new AssetDescriptor<BitmapFont>("arial-15.fnt", BitmapFont.class, fontParameter());
+
+    private Assets() {
+    }
+
+    private static BitmapFontParameter fontParameter() {
+        BitmapFontParameter parameter = new BitmapFontParameter();
+        parameter.atlasName = ATLAS.fileName;
+        return parameter;
+    }
+
+    /**
+     * Queues everything the game screen needs, reading levels through streams.
+     */
+    public static void queue(AssetManager manager) {
+        queue(manager, LevelFile.STREAM);
+    }
+
+    /**
+     * Queues everything the game screen needs; call {@link AssetManager#update()} until it returns true. Also
+     * registers the level and archetype loaders.
+     *
+     * @param levelOpener the platform's reader for level files
+     */
+    public static void queue(AssetManager manager, LevelFile.Opener levelOpener) {
+        manager.setLoader(LevelFile.class, new LevelFileLoader(new InternalFileHandleResolver(), levelOpener));
+        manager.setLoader(Archetypes.class, new ArchetypesLoader(new InternalFileHandleResolver()));
+
+        manager.load(ATLAS);
+        manager.load(FONT);
+        manager.load(LEVEL);
+        manager.load(ENEMIES);
+    }
+}
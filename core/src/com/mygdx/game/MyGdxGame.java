@@ -1,19 +1,103 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.mygdx.game.controller.WorldRenderer;
-import com.mygdx.game.view.GameScreen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.controller.SimulationLoop;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.systems.TaskRunner;
+import com.mygdx.game.view.LoadingScreen;
 
 public class MyGdxGame extends Game {
+
+    private final LevelFile.Opener levelOpener;
+    private final TaskRunner taskRunner;
+    private AssetManager assets;
+    private FileHandle recording;
+    private FrameProfiler.Listener profilerListener;
+    private SimulationLoop simulation;
+    private long startTime;
+
+    public MyGdxGame() {
+        this(LevelFile.STREAM);
+    }
+
+    /**
+     * @param levelOpener reads level files; backends that can map files into memory pass a faster one
+     */
+    public MyGdxGame(LevelFile.Opener levelOpener) {
+        this(levelOpener, TaskRunner.SERIAL);
+    }
+
+    /**
+     * @param taskRunner runs the parallel parts of a tick; backends with threads pass one that uses them. Disposed
+     *                   with the game
+     */
+    public MyGdxGame(LevelFile.Opener levelOpener, TaskRunner taskRunner) {
+        this.levelOpener = levelOpener;
+        this.taskRunner = taskRunner;
+    }
+
     @Override
     public void create() {
-        setScreen(new GameScreen());
+        startTime = TimeUtils.nanoTime();
+
+        assets = new AssetManager();
+        Assets.queue(assets, levelOpener);
+        setScreen(new LoadingScreen(this, assets));
+    }
+
+    /**
+     * Logs the milliseconds since {@link #create()}, for start up milestones such as the first frame.
+     */
+    public void logSinceStart(String milestone) {
+        Gdx.app.log("MyGdxGame", milestone + " after " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(startTime)) + " ms");
     }
 
+    public TaskRunner getTaskRunner() {
+        return taskRunner;
+    }
+
+    /**
+     * @param recording where to save the input of the game, for replaying it, or null to not record
+     */
+    public void setRecording(FileHandle recording) {
+        this.recording = recording;
+    }
+
+    public FileHandle getRecording() {
+        return recording;
+    }
+
+    /**
+     * @param listener told about every phase of a profiled frame, e.g. a platform profiler; may be null
+     */
+    public void setProfilerListener(FrameProfiler.Listener listener) {
+        profilerListener = listener;
+    }
+
+    public FrameProfiler.Listener getProfilerListener() {
+        return profilerListener;
+    }
+
+    /**
+     * @param simulation ticks the game world off the render thread, or null to tick it before drawing each frame
+     */
+    public void setSimulation(SimulationLoop simulation) {
+        this.simulation = simulation;
+    }
+
+    public SimulationLoop getSimulation() {
+        return simulation;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        assets.dispose();
+        taskRunner.dispose();
+    }
 }
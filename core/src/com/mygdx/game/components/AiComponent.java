@@ -0,0 +1,29 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+import com.mygdx.game.model.EnemyArchetype;
+
+/**
+ * A turret: fires at the player when the player is within range in front of it. What turrets of a kind share is in
+ * their archetype, only the schedule is per turret.
+ */
+public class AiComponent extends Component {
+
+    /** Range, fire rate and bullets; shared, never modify it through a turret. */
+    public EnemyArchetype archetype;
+
+    /** Offset of the shots into the cooldown, in seconds; turrets with different phases fire on different ticks. */
+    public float phase;
+
+    /* tick of the next evaluation, and whether the scheduler holds the turret; owned by the AiScheduler */
+    public long nextTick;
+    public boolean scheduled;
+
+    /* whether the muzzle saw the player, from which tiles and against which level revision; owned by the FiringSystem */
+    public boolean canSee;
+    public int sightFromX;
+    public int sightFromY;
+    public int sightToX;
+    public int sightToY;
+    public int sightRevision = -1;
+}
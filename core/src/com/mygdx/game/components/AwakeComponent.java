@@ -0,0 +1,12 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Marks an entity inside the active region. Systems that only care about the neighbourhood of the player include it
+ * in their family, so sleeping entities cost them nothing. Carries no state, so every entity shares {@link #INSTANCE}.
+ */
+public class AwakeComponent extends Component {
+
+    public static final AwakeComponent INSTANCE = new AwakeComponent();
+}
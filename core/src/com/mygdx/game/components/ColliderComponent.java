@@ -0,0 +1,29 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Axis aligned box of an entity, anchored at its position.
+ */
+public class ColliderComponent extends Component {
+
+    public float width;
+    public float height;
+
+    /** Whether the entity stood on a solid tile at the end of the last tick. */
+    public boolean grounded = true;
+
+    /** Box the entity moved into during the current tick, before tile collisions were resolved. Used for hit tests. */
+    public final Rectangle sweep = new Rectangle();
+
+    /** Body of the entity when it runs in {@link com.mygdx.game.physics.Box2DPhysics}, null otherwise. */
+    public Body body;
+
+    public ColliderComponent set(float width, float height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.ComponentMapper;
+
+/**
+ * Shared component mappers, the fast way to get a component of an entity.
+ */
+public final class Mappers {
+
+    public static final ComponentMapper<PositionComponent> position = ComponentMapper.getFor(PositionComponent.class);
+    public static final ComponentMapper<VelocityComponent> velocity = ComponentMapper.getFor(VelocityComponent.class);
+    public static final ComponentMapper<ColliderComponent> collider = ComponentMapper.getFor(ColliderComponent.class);
+    public static final ComponentMapper<SpriteComponent> sprite = ComponentMapper.getFor(SpriteComponent.class);
+    public static final ComponentMapper<PlayerComponent> player = ComponentMapper.getFor(PlayerComponent.class);
+    public static final ComponentMapper<AiComponent> ai = ComponentMapper.getFor(AiComponent.class);
+    public static final ComponentMapper<AwakeComponent> awake = ComponentMapper.getFor(AwakeComponent.class);
+
+    private Mappers() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * The controllable character: its movement rules, its state machine and the input of the current tick.
+ */
+public class PlayerComponent extends Component {
+
+    public static final float MAX_VELOCITY = 10f;
+    public static final float DAMPING = 0.87f;
+    public static final float GRAVITY = -22.0f;
+    public static final float MAX_JUMP_SPEED = 10f;
+    /** How long holding jump keeps the jump going, in milliseconds of simulated time. */
+    public static final long LONG_JUMP_PRESS = 150l;
+
+    /* size of the idle frame (solbrain/1 in game.atlas), in tiles */
+    public static final float WIDTH = 22 / 16f;
+    public static final float HEIGHT = 33 / 16f;
+
+    public enum State {
+        Standing, Walking, Jumping, Falling
+    }
+
+    public State state = State.Standing;
+    public boolean facingRight = true;
+    public float stateTime;
+
+    /* input state, set from the input of the tick by the GameWorld */
+    public boolean leftPressed;
+    public boolean rightPressed;
+    public boolean jumpingPressed;
+    public long jumpPressedTick;
+}
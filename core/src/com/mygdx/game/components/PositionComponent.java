@@ -0,0 +1,21 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Bottom left corner of an entity, in tiles.
+ */
+public class PositionComponent extends Component {
+
+    public final Vector2 position = new Vector2();
+
+    /** Position at the start of the current tick, for interpolation. Equal to the position for entities that don't move. */
+    public final Vector2 previous = new Vector2();
+
+    public PositionComponent set(float x, float y) {
+        position.set(x, y);
+        previous.set(x, y);
+        return this;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * What an entity looks like. The simulation only names the atlas region; the renderer resolves it, so the world can
+ * run without textures.
+ */
+public class SpriteComponent extends Component {
+
+    /** Region of the sprite atlas, see {@link com.mygdx.game.Assets#ATLAS}. */
+    public String name;
+
+    /** Mirror the region horizontally. */
+    public boolean flipX;
+
+    public SpriteComponent set(String name, boolean flipX) {
+        this.name = name;
+        this.flipX = flipX;
+        return this;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mygdx.game.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Velocity and acceleration, in tiles per second. Between the two physics phases of a tick it belongs to the
+ * {@link com.mygdx.game.physics.PhysicsBackend}.
+ */
+public class VelocityComponent extends Component {
+
+    public final Vector2 velocity = new Vector2();
+    public final Vector2 acceleration = new Vector2();
+
+    /** Factor applied to the horizontal velocity after every tick. */
+    public float damping = 1;
+}
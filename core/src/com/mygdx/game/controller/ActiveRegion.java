@@ -0,0 +1,76 @@
+package com.mygdx.game.controller;
+
+/**
+ * The part of the level the simulation spends time on. The view is the area the camera shows; the active area is the
+ * view grown by a margin on every side. Entities in the view are drawn, entities in the active area are updated and
+ * everything beyond it sleeps until the view comes close again.
+ */
+public class ActiveRegion {
+
+    /** Tiles of active area around the view, on every side. */
+    public static final float DEFAULT_MARGIN = 8;
+
+    private final float viewWidth;
+    private final float viewHeight;
+    private float margin;
+
+    private float viewLeft, viewBottom, viewRight, viewTop;
+    private float left, bottom, right, top;
+
+    public ActiveRegion(float viewWidth, float viewHeight, float margin) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.margin = margin;
+    }
+
+    /**
+     * Centers the view on the given point.
+     */
+    public void setCenter(float x, float y) {
+        viewLeft = x - viewWidth / 2;
+        viewRight = x + viewWidth / 2;
+        viewBottom = y - viewHeight / 2;
+        viewTop = y + viewHeight / 2;
+
+        left = viewLeft - margin;
+        right = viewRight + margin;
+        bottom = viewBottom - margin;
+        top = viewTop + margin;
+    }
+
+    /**
+     * @param margin tiles around the view that stay awake, {@link Float#POSITIVE_INFINITY} keeps the whole level awake
+     */
+    public void setMargin(float margin) {
+        this.margin = margin;
+        setCenter((viewLeft + viewRight) / 2, (viewBottom + viewTop) / 2);
+    }
+
+    public float getMargin() {
+        return margin;
+    }
+
+    public boolean isVisible(float x, float y, float width, float height) {
+        return x < viewRight && x + width > viewLeft && y < viewTop && y + height > viewBottom;
+    }
+
+    public boolean isActive(float x, float y, float width, float height) {
+        return x < right && x + width > left && y < top && y + height > bottom;
+    }
+
+    public float getLeft() {
+        return left;
+    }
+
+    public float getBottom() {
+        return bottom;
+    }
+
+    public float getRight() {
+        return right;
+    }
+
+    public float getTop() {
+        return top;
+    }
+}
@@ -0,0 +1,162 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelChunk;
+
+/**
+ * Draws the tile layers of the resident chunks of a {@link Level} that intersect the view, one tile per world unit.
+ * The vertices of a chunk are built once into a {@link SpriteCache} and drawn from there every frame; a cache is only
+ * rebuilt when its chunk is edited or its slot is reused for another chunk.
+ */
+public class ChunkRenderer implements Disposable {
+
+    /* SpriteCache indices are shorts, so larger caches go without */
+    private static final int MAX_INDEXED_SPRITES = 8191;
+
+    private final Level level;
+
+    /* texture region of every tile id, null for ids without a tile */
+    private final TextureRegion[] regions;
+
+    /* enough to cover every chunk the view can touch, plus one so scrolling never rebuilds a chunk it just left */
+    private final CachedChunk[] caches;
+
+    /* render calls of the last frame */
+    private int renderCalls;
+
+    /**
+     * @param viewWidth the widest view that will be rendered, in tiles
+     */
+    public ChunkRenderer(Level level, float viewWidth) {
+        this.level = level;
+        regions = regions(level.getTileSets());
+
+        int count = Math.min(level.getChunkCount(), MathUtils.ceil(viewWidth / LevelChunk.WIDTH) + 2);
+        int size = level.getLayerCount() * level.getHeight() * LevelChunk.WIDTH;
+        caches = new CachedChunk[count];
+        for (int i = 0; i < count; i++) {
+            caches[i] = new CachedChunk(new SpriteCache(size, size <= MAX_INDEXED_SPRITES), level.getLayerCount());
+        }
+    }
+
+    private static TextureRegion[] regions(TiledMapTileSets tileSets) {
+        int maxId = 0;
+        for (TiledMapTileSet tileSet : tileSets) {
+            for (TiledMapTile tile : tileSet) {
+                maxId = Math.max(maxId, tile.getId());
+            }
+        }
+        TextureRegion[] regions = new TextureRegion[maxId + 1];
+        for (TiledMapTileSet tileSet : tileSets) {
+            for (TiledMapTile tile : tileSet) {
+                regions[tile.getId()] = tile.getTextureRegion();
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Draws every layer of the visible chunks. Must be called outside of any begun batch.
+     */
+    public void render(Matrix4 projection, ActiveRegion view) {
+        renderCalls = 0;
+        int first = Math.max(0, MathUtils.floor(view.getLeft())) >> LevelChunk.SHIFT;
+        int last = Math.min(level.getWidth() - 1, MathUtils.floor(view.getRight())) >> LevelChunk.SHIFT;
+
+        for (int index = first; index <= last; index++) {
+            LevelChunk chunk = level.getChunk(index);
+            if (chunk == null) continue;
+
+            CachedChunk cached = cache(chunk, first, last);
+            if (cached == null) continue;
+            SpriteCache cache = cached.cache;
+            cache.setProjectionMatrix(projection);
+            cache.begin();
+            for (int layer = 0; layer < cached.layers.length; layer++) {
+                if (cached.layers[layer] != -1) cache.draw(cached.layers[layer]);
+            }
+            cache.end();
+            renderCalls += cache.renderCalls;
+        }
+    }
+
+    /**
+     * @return the cache holding the current tiles of the chunk, rebuilding the one of a chunk outside
+     *         {@code first..last} if the chunk has none
+     */
+    private CachedChunk cache(LevelChunk chunk, int first, int last) {
+        CachedChunk free = null;
+        for (CachedChunk cached : caches) {
+            if (cached.index == chunk.getIndex()) {
+                if (cached.chunk != chunk || cached.revision != chunk.getRevision()) build(cached, chunk);
+                return cached;
+            }
+            if (free == null && (cached.index < first || cached.index > last)) free = cached;
+        }
+        if (free != null) build(free, chunk);
+        return free;
+    }
+
+    private void build(CachedChunk cached, LevelChunk chunk) {
+        cached.index = chunk.getIndex();
+        cached.chunk = chunk;
+        cached.revision = chunk.getRevision();
+
+        SpriteCache cache = cached.cache;
+        cache.clear();
+        int chunkX = chunk.getX();
+        int width = Math.min(LevelChunk.WIDTH, level.getWidth() - chunkX);
+        for (int layer = 0; layer < cached.layers.length; layer++) {
+            int sprites = 0;
+            cache.beginCache();
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int x = 0; x < width; x++) {
+                    int id = chunk.getTile(layer, x, y);
+                    if (id == 0 || id >= regions.length || regions[id] == null) continue;
+                    cache.add(regions[id], chunkX + x, y, 1, 1);
+                    sprites++;
+                }
+            }
+            int id = cache.endCache();
+            cached.layers[layer] = sprites > 0 ? id : -1;
+        }
+    }
+
+    /**
+     * @return the render calls of the last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    @Override
+    public void dispose() {
+        for (CachedChunk cached : caches) {
+            cached.cache.dispose();
+        }
+    }
+
+    /** The vertices of one chunk, a cache per layer. */
+    private static class CachedChunk {
+        final SpriteCache cache;
+        /* cache id of every layer, -1 for a layer without tiles */
+        final int[] layers;
+
+        int index = -1;
+        LevelChunk chunk;
+        int revision;
+
+        CachedChunk(SpriteCache cache, int layerCount) {
+            this.cache = cache;
+            layers = new int[layerCount];
+        }
+    }
+}
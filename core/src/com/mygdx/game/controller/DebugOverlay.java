@@ -0,0 +1,159 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.profiling.FrameProfiler;
+
+/**
+ * Outlines what the simulation works with on top of a frame: the solid tiles, the broadphase cells, the fire range of
+ * every turret (red while it sees the player), the boxes of the player and the bullets, and a bar per phase of the
+ * last profiled frame. Everything is drawn in one {@link ShapeRenderer} pass. Off by default; while off it costs a
+ * field check and holds no GL resources.
+ */
+public class DebugOverlay implements Disposable {
+
+    /* enough for a view full of tiles and bullets, so the pass is rarely flushed early */
+    private static final int MAX_VERTICES = 20000;
+
+    private static final float BAR_HEIGHT = 0.25f;
+    private static final float BAR_SPACING = 0.4f;
+    private static final Color[] PHASE_COLORS = { Color.CYAN, Color.MAGENTA, Color.ORANGE, Color.PINK, Color.TEAL,
+            Color.PURPLE };
+
+    private final Level level;
+    private FrameProfiler profiler;
+    private ShapeRenderer shapes;
+    private boolean enabled;
+
+    public DebugOverlay(Level level) {
+        this.level = level;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled && shapes == null) shapes = new ShapeRenderer(MAX_VERTICES);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param profiler its last frame is drawn as bars while it is enabled; a bar across the view is one tick
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @param view what the camera shows; only what is inside is drawn
+     * @param alpha how far the frame is into the tick after the snapshot's, to interpolate like the sprites
+     */
+    public void render(Matrix4 projection, ActiveRegion view, WorldSnapshot snapshot, float alpha) {
+        if (!enabled) return;
+
+        shapes.setProjectionMatrix(projection);
+        shapes.begin(ShapeType.Line);
+        drawCells(view);
+        drawTiles(view);
+        drawRanges(view, snapshot, alpha);
+        drawBullets(view, snapshot, alpha);
+
+        shapes.setColor(Color.GREEN);
+        shapes.rect(snapshot.playerPreviousX + (snapshot.playerX - snapshot.playerPreviousX) * alpha,
+                snapshot.playerPreviousY + (snapshot.playerY - snapshot.playerPreviousY) * alpha,
+                snapshot.playerWidth, snapshot.playerHeight);
+
+        drawPhases(view);
+        shapes.end();
+    }
+
+    private void drawCells(ActiveRegion view) {
+        shapes.setColor(Color.DARK_GRAY);
+        int size = 1 << GameWorld.BROADPHASE_CELL_SHIFT;
+        for (int x = (int)Math.ceil(view.getLeft() / size) * size; x <= view.getRight(); x += size) {
+            shapes.line(x, view.getBottom(), x, view.getTop());
+        }
+        for (int y = (int)Math.ceil(view.getBottom() / size) * size; y <= view.getTop(); y += size) {
+            shapes.line(view.getLeft(), y, view.getRight(), y);
+        }
+    }
+
+    /**
+     * Outlines every run of solid tiles in a row as one rectangle.
+     */
+    private void drawTiles(ActiveRegion view) {
+        shapes.setColor(Color.BLUE);
+        int left = Math.max(0, (int)Math.floor(view.getLeft()));
+        int right = Math.min(level.getWidth() - 1, (int)Math.floor(view.getRight()));
+        int bottom = Math.max(0, (int)Math.floor(view.getBottom()));
+        int top = Math.min(level.getHeight() - 1, (int)Math.floor(view.getTop()));
+        for (int y = bottom; y <= top; y++) {
+            int start = -1;
+            for (int x = left; x <= right + 1; x++) {
+                boolean solid = x <= right && level.isSolid(x, y);
+                if (solid && start < 0) {
+                    start = x;
+                } else if (!solid && start >= 0) {
+                    shapes.rect(start, y, x - start, 1);
+                    start = -1;
+                }
+            }
+        }
+    }
+
+    private void drawRanges(ActiveRegion view, WorldSnapshot snapshot, float alpha) {
+        for (int i = 0; i < snapshot.spriteCount; i++) {
+            float range = snapshot.spriteRange[i];
+            if (range <= 0) continue;
+            float x = snapshot.spritePreviousX[i] + (snapshot.spriteX[i] - snapshot.spritePreviousX[i]) * alpha;
+            float y = snapshot.spritePreviousY[i] + (snapshot.spriteY[i] - snapshot.spritePreviousY[i]) * alpha;
+            float height = snapshot.spriteHeight[i];
+            if (!view.isVisible(x - range, y, range + snapshot.spriteWidth[i], height)) continue;
+
+            shapes.setColor(snapshot.spriteSeesPlayer[i] ? Color.RED : Color.GRAY);
+            shapes.rect(x - range, y, range, height);
+        }
+    }
+
+    private void drawBullets(ActiveRegion view, WorldSnapshot snapshot, float alpha) {
+        shapes.setColor(Color.YELLOW);
+        float back = (1 - alpha) * GameWorld.TICK;
+        for (int i = 0; i < snapshot.bulletCount; i++) {
+            float x = snapshot.bulletX[i] - snapshot.bulletVelocityX[i] * back;
+            float y = snapshot.bulletY[i] - snapshot.bulletVelocityY[i] * back;
+            if (!view.isVisible(x, y, snapshot.bulletWidth[i], snapshot.bulletHeight[i])) continue;
+            shapes.rect(x, y, snapshot.bulletWidth[i], snapshot.bulletHeight[i]);
+        }
+    }
+
+    /**
+     * Stacks a bar per phase below the one of the whole frame, in the order of the profiler's columns, from the top
+     * left corner of the view.
+     */
+    private void drawPhases(ActiveRegion view) {
+        if (profiler == null || !profiler.isEnabled() || profiler.getFrameCount() == 0) return;
+        int frame = profiler.getFrameCount() - 1;
+        float left = view.getLeft() + BAR_SPACING;
+        float top = view.getTop() - BAR_SPACING;
+        float scale = (view.getRight() - view.getLeft() - 2 * BAR_SPACING) / GameWorld.TICK_NANOS;
+
+        shapes.setColor(Color.WHITE);
+        shapes.line(left + GameWorld.TICK_NANOS * scale, top, left + GameWorld.TICK_NANOS * scale,
+                top - (profiler.getPhaseCount() + 1) * BAR_SPACING);
+        for (int phase = -1; phase < profiler.getPhaseCount(); phase++) {
+            if (phase >= 0) shapes.setColor(PHASE_COLORS[phase % PHASE_COLORS.length]);
+            float y = top - (phase + 2) * BAR_SPACING;
+            shapes.rect(left, y, Math.min(profiler.getNanos(frame, phase), GameWorld.TICK_NANOS) * scale, BAR_HEIGHT);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (shapes != null) shapes.dispose();
+    }
+}
@@ -0,0 +1,582 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.components.AiComponent;
+import com.mygdx.game.components.AwakeComponent;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.components.SpriteComponent;
+import com.mygdx.game.components.VelocityComponent;
+import com.mygdx.game.model.Archetypes;
+import com.mygdx.game.model.EnemyArchetype;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelObject;
+import com.mygdx.game.physics.AxisIndex;
+import com.mygdx.game.physics.PhysicsBackend;
+import com.mygdx.game.physics.SpatialGrid;
+import com.mygdx.game.physics.TilePhysics;
+import com.mygdx.game.physics.TileSweep;
+import com.mygdx.game.systems.ActiveRegionSystem;
+import com.mygdx.game.systems.BulletSystem;
+import com.mygdx.game.systems.CollisionSystem;
+import com.mygdx.game.systems.ContactSystem;
+import com.mygdx.game.systems.FallSystem;
+import com.mygdx.game.systems.FiringSystem;
+import com.mygdx.game.systems.InterpolationSystem;
+import com.mygdx.game.systems.MovementSystem;
+import com.mygdx.game.systems.PlayerControlSystem;
+import com.mygdx.game.systems.TaskRunner;
+
+import java.util.Comparator;
+
+/**
+ * Headless simulation of a level. Owns the level, the entity engine, the bullets and the score and advances them in
+ * fixed {@link #TICK} steps, independent of the frame rate. The player and the enemies are entities; every tick runs
+ * the systems of the engine in priority order. Nothing in here touches GL, so the world can be stepped without a
+ * graphics context (benchmarks, load tests). Renderers read the state through a {@link WorldSnapshot}, on this
+ * thread or published by a {@link SimulationLoop}, and use {@link #getAlpha()} to interpolate between the last two
+ * ticks.
+ */
+public class GameWorld implements Disposable {
+
+    /** Length of one simulation step, in seconds. */
+    public static final float TICK = 1 / 60f;
+    /** {@link #TICK} in nanoseconds. */
+    public static final long TICK_NANOS = (long)(TICK * 1e9);
+
+    /** Archetype of the enemies added by position only. */
+    public static final String DEFAULT_ENEMY = "turret";
+
+    /* spreads the phases of consecutive enemies evenly over their cooldown, however many there are */
+    private static final float GOLDEN_RATIO = 0.618034f;
+
+    private static final Comparator<LevelObject> BY_X = new Comparator<LevelObject>() {
+        @Override
+        public int compare(LevelObject a, LevelObject b) {
+            return Float.compare(a.getX(), b.getX());
+        }
+    };
+
+    /** Upper bound of ticks run by a single {@link #update(float)}, so a long hitch doesn't snowball. */
+    public static final int MAX_TICKS_PER_UPDATE = 8;
+
+    /** Bits of the input of a tick: the arrows held, and the jump key going down and up since the last tick. */
+    public static final int INPUT_LEFT = 1;
+    public static final int INPUT_RIGHT = 2;
+    public static final int INPUT_JUMP_PRESSED = 4;
+    public static final int INPUT_JUMP_RELEASED = 8;
+    private static final int INPUT_EDGES = INPUT_JUMP_PRESSED | INPUT_JUMP_RELEASED;
+
+    /** Keys of the queued input events. */
+    public static final int KEY_LEFT = 0;
+    public static final int KEY_RIGHT = 1;
+    public static final int KEY_JUMP = 2;
+
+    @SuppressWarnings("unchecked")
+    private static final Family AWAKE_SPRITES = Family.getFor(PositionComponent.class, ColliderComponent.class,
+            SpriteComponent.class, AwakeComponent.class);
+
+    /** Broadphase cells are 4x4 tiles. */
+    public static final int BROADPHASE_CELL_SHIFT = 2;
+
+    /** Size of the area the camera shows, in tiles. The camera follows the player on x only. */
+    public static final float VIEW_WIDTH = 30;
+    public static final float VIEW_HEIGHT = 20;
+
+    public static final float SPAWN_X = 15;
+    public static final float SPAWN_Y = 17;
+
+    private Level level;
+    private final Archetypes archetypes;
+    private final PhysicsBackend physics;
+
+    private final Engine engine = new Engine();
+    private Entity player;
+
+    /* in spawn order, which is by x for the enemies of the level; the index of an enemy is its id in the broadphase
+       grid and the enemy index */
+    private Array<Entity> enemies;
+
+    /* broadphase over the enemies; the bullets keep their own */
+    private SpatialGrid enemyGrid;
+
+    /* the enemies by x, and the longest range among them */
+    private final AxisIndex enemyIndex = new AxisIndex();
+    private float maxEnemyRange;
+
+    /* the systems of a tick, in the order they run */
+    private final InterpolationSystem interpolation;
+    private final PlayerControlSystem control;
+    private final CollisionSystem collision;
+    private final ContactSystem contacts;
+    private final MovementSystem movement;
+    private final FallSystem fall;
+    private final ActiveRegionSystem activeRegionSystem;
+    private final FiringSystem firing;
+    private final BulletSystem bullets;
+
+    /* enemies inside the active region are awake; only these are updated and drawn */
+    private final ActiveRegion activeRegion;
+    private final ImmutableArray<Entity> awakeSprites;
+
+    private float accumulator;
+    private long ticks;
+
+    /* key events waiting for their tick, and the input of the next tick built from them */
+    private final InputQueue inputQueue = new InputQueue();
+    private int input;
+    private TickListener tickListener;
+
+    /* when the last update ran, to spread its ticks over the time since */
+    private long lastUpdate;
+
+    /* between an event and the start of the tick that applied it, in nanoseconds */
+    private long inputLatency;
+    private long maxInputLatency;
+
+    int score;
+
+    /**
+     * A world with the archetypes of the internal {@link Archetypes#FILE}.
+     */
+    public GameWorld(Level level) {
+        this(level, BulletSystem.DEFAULT_CAPACITY);
+    }
+
+    public GameWorld(Level level, int bulletCapacity) {
+        this(level, bulletCapacity, new TilePhysics(level));
+    }
+
+    public GameWorld(Level level, int bulletCapacity, PhysicsBackend physics) {
+        this(level, Archetypes.load(Gdx.files.internal(Archetypes.FILE)), bulletCapacity, physics);
+    }
+
+    public GameWorld(Level level, Archetypes archetypes) {
+        this(level, archetypes, BulletSystem.DEFAULT_CAPACITY, new TilePhysics(level));
+    }
+
+    /**
+     * @param archetypes the enemies the objects of the level spawn
+     * @param physics moves the bodies against the level, disposed with the world
+     */
+    public GameWorld(Level level, Archetypes archetypes, int bulletCapacity, PhysicsBackend physics) {
+
+        this.level = level;
+        this.archetypes = archetypes;
+        this.physics = physics;
+        score = 0;
+
+        enemies = new Array<Entity>();
+        enemyGrid = new SpatialGrid(level.getWidth(), level.getHeight(), BROADPHASE_CELL_SHIFT);
+        activeRegion = new ActiveRegion(VIEW_WIDTH, VIEW_HEIGHT, ActiveRegion.DEFAULT_MARGIN);
+
+        int priority = 0;
+        interpolation = new InterpolationSystem(priority++);
+        control = new PlayerControlSystem(priority++, TICK);
+        collision = new CollisionSystem(priority++, physics);
+        contacts = new ContactSystem(priority++, this);
+        movement = new MovementSystem(priority++, physics);
+        fall = new FallSystem(priority++, this);
+        activeRegionSystem = new ActiveRegionSystem(priority++, this, activeRegion);
+        firing = new FiringSystem(priority++, this, TICK);
+        bullets = new BulletSystem(priority++, bulletCapacity,
+                new SpatialGrid(level.getWidth(), level.getHeight(), BROADPHASE_CELL_SHIFT), activeRegion,
+                new TileSweep(level));
+
+        engine.addSystem(interpolation);
+        engine.addSystem(control);
+        engine.addSystem(collision);
+        engine.addSystem(contacts);
+        engine.addSystem(movement);
+        engine.addSystem(fall);
+        engine.addSystem(activeRegionSystem);
+        engine.addSystem(firing);
+        engine.addSystem(bullets);
+
+        awakeSprites = engine.getEntitiesFor(AWAKE_SPRITES);
+
+        player = createPlayer();
+        engine.addEntity(player);
+
+        loadEnemies();
+        updateActiveRegion();
+    }
+
+    private static Entity createPlayer() {
+        VelocityComponent velocity = new VelocityComponent();
+        velocity.damping = PlayerComponent.DAMPING;
+
+        Entity player = new Entity();
+        player.add(new PositionComponent().set(SPAWN_X, SPAWN_Y));
+        player.add(velocity);
+        player.add(new ColliderComponent().set(PlayerComponent.WIDTH, PlayerComponent.HEIGHT));
+        player.add(new SpriteComponent().set("solbrain/1", false));
+        player.add(new PlayerComponent());
+        // the active region follows the player, so it never sleeps
+        player.add(AwakeComponent.INSTANCE);
+        return player;
+    }
+
+    /**
+     * Advances the simulation by the given frame time. Whole ticks are run, the remainder is carried over to the
+     * next call and exposed through {@link #getAlpha()}.
+     *
+     * The ticks of an update stand for the time since the previous one, split evenly, and each tick applies the queued
+     * input events of its share. A key tapped between two frames of a slow device is pressed and released on the ticks
+     * it happened at, rather than both on the first tick of the next frame. Events from after the last tick's share
+     * wait for the next update.
+     */
+    public void update(float delta) {
+        long now = TimeUtils.nanoTime();
+        long span = lastUpdate == 0 ? (long)(delta * 1e9f) : now - lastUpdate;
+        lastUpdate = now;
+
+        accumulator += delta;
+
+        float maxAccumulated = MAX_TICKS_PER_UPDATE * TICK;
+        if (accumulator > maxAccumulated) {
+            accumulator = maxAccumulated;
+        }
+
+        int count = 0;
+        for (float remaining = accumulator; remaining >= TICK; remaining -= TICK) {
+            count++;
+        }
+        for (int i = 1; i <= count; i++) {
+            step(now - span * (count - i) / count);
+            accumulator -= TICK;
+        }
+    }
+
+    /**
+     * Runs exactly one simulation tick on all the input queued since the last one. The input and the tick number are
+     * all a tick depends on besides the state, so the same inputs replay the same run.
+     */
+    public void step() {
+        step(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param until the input events up to this time are applied
+     */
+    private void step(long until) {
+        int input = consumeInput(until);
+        engine.update(TICK);
+        ticks++;
+        if (tickListener != null) tickListener.ticked(this, input);
+    }
+
+    /**
+     * Applies the queued events up to the given time to the input, hands it to the player and starts collecting anew;
+     * the arrows stay held.
+     *
+     * @return the input handed over
+     */
+    private int consumeInput(long until) {
+        if (inputQueue.hasEventBefore(until)) {
+            long now = TimeUtils.nanoTime();
+            do {
+                inputLatency = now - inputQueue.peekTime();
+                maxInputLatency = Math.max(maxInputLatency, inputLatency);
+                apply(inputQueue.poll());
+            } while (inputQueue.hasEventBefore(until));
+        }
+
+        int input = this.input;
+        this.input &= ~INPUT_EDGES;
+
+        PlayerComponent state = Mappers.player.get(player);
+        state.leftPressed = (input & INPUT_LEFT) != 0;
+        state.rightPressed = (input & INPUT_RIGHT) != 0;
+        if ((input & INPUT_JUMP_PRESSED) != 0) control.pressJump(player, ticks);
+        if ((input & INPUT_JUMP_RELEASED) != 0) control.releaseJump(player);
+        return input;
+    }
+
+    /**
+     * @return how far the simulation is between the last tick and the next one, in [0, 1)
+     */
+    public float getAlpha() {
+        return accumulator / TICK;
+    }
+
+    /**
+     * Runs the player's part of a tick on its own: input, tile collisions, hits, movement.
+     */
+    public void updatePlayer(float delta) {
+        if (delta == 0) return;
+
+        consumeInput(Long.MAX_VALUE);
+        interpolation.update(delta);
+        control.update(delta);
+        collision.update(delta);
+        contacts.update(delta);
+        movement.update(delta);
+        fall.update(delta);
+    }
+
+    /**
+     * Puts the player back to the spawn point, every hit counts for the score.
+     */
+    public void respawn(int hits) {
+        Mappers.position.get(player).set(SPAWN_X, SPAWN_Y);
+        bullets.clear();
+        score += hits;
+    }
+
+    /**
+     * Follows the player with the active region, streams the level chunks under it and re-evaluates which enemies are
+     * awake. Runs every tick; call it directly after moving the player or the region outside of a tick.
+     */
+    public void updateActiveRegion() {
+        activeRegionSystem.update(0);
+    }
+
+    /**
+     * Fires one volley from every awake enemy at once, off their schedule.
+     */
+    public void updateEnemy(float delta){
+        firing.fire();
+    }
+
+    public void updateBullets(float delta){
+        bullets.update(delta);
+    }
+
+    /**
+     * Spawns an enemy at every object of the level whose type names an archetype, in order of x so that the enemies
+     * start out sorted.
+     */
+    private void loadEnemies() {
+        Array<LevelObject> spawns = new Array<LevelObject>();
+        for (LevelObject object : level.getObjects()) {
+            if (archetypes.find(object.getType()) != null) spawns.add(object);
+        }
+        spawns.sort(BY_X);
+        for (LevelObject spawn : spawns) {
+            addEnemy(archetypes.get(spawn.getType()), spawn.getX(), spawn.getY());
+        }
+    }
+
+    /**
+     * Places an enemy of the {@link #DEFAULT_ENEMY} archetype with its bottom left corner at the given tile position.
+     */
+    public Entity addEnemy(float x, float y) {
+        return addEnemy(archetypes.get(DEFAULT_ENEMY), x, y);
+    }
+
+    public Entity addEnemy(EnemyArchetype archetype, float x, float y) {
+        AiComponent ai = new AiComponent();
+        ai.archetype = archetype;
+        ai.phase = (enemies.size * GOLDEN_RATIO) % 1 * archetype.cooldown;
+
+        Entity enemy = new Entity();
+        enemy.add(new PositionComponent().set(x, y));
+        enemy.add(new ColliderComponent().set(archetype.width, archetype.height));
+        enemy.add(new SpriteComponent().set(archetype.sprite, archetype.flipX));
+        enemy.add(ai);
+
+        enemyGrid.insert(enemies.size, x, y);
+        enemyIndex.add(enemies.size, x);
+        maxEnemyRange = Math.max(maxEnemyRange, archetype.range);
+        enemies.add(enemy);
+        engine.addEntity(enemy);
+        activeRegionSystem.invalidate();
+        return enemy;
+    }
+
+    /**
+     * @return the index of the new bullet, or -1 if the bullet system is full
+     */
+    public int spawnBullet(float x, float y, float velocityX, float velocityY) {
+        return bullets.spawn(x, y, velocityX, velocityY, PlayerComponent.WIDTH / 4, PlayerComponent.WIDTH / 4);
+    }
+
+    /**
+     * ************************************************* Input ******************************************************
+     */
+
+    public void setLeftPressed(boolean leftPressed) {
+        queueKey(KEY_LEFT, leftPressed, TimeUtils.nanoTime());
+    }
+
+    public void setRightPressed(boolean rightPressed) {
+        queueKey(KEY_RIGHT, rightPressed, TimeUtils.nanoTime());
+    }
+
+    public void pressJump() {
+        queueKey(KEY_JUMP, true, TimeUtils.nanoTime());
+    }
+
+    public void releaseJump() {
+        queueKey(KEY_JUMP, false, TimeUtils.nanoTime());
+    }
+
+    /**
+     * Queues a key going down or up for the tick it happened at. Only one thread may queue keys.
+     *
+     * @param key one of the KEY constants
+     * @param time when it happened, in {@link TimeUtils#nanoTime()} nanoseconds
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean queueKey(int key, boolean down, long time) {
+        return inputQueue.offer(key << 1 | (down ? 1 : 0), time);
+    }
+
+    private void apply(int event) {
+        boolean down = (event & 1) != 0;
+        switch (event >> 1) {
+            case KEY_LEFT:
+                input = down ? input | INPUT_LEFT : input & ~INPUT_LEFT;
+                break;
+            case KEY_RIGHT:
+                input = down ? input | INPUT_RIGHT : input & ~INPUT_RIGHT;
+                break;
+            case KEY_JUMP:
+                input |= down ? INPUT_JUMP_PRESSED : INPUT_JUMP_RELEASED;
+                break;
+        }
+    }
+
+    /**
+     * Replaces the input of the next tick, e.g. with a recorded one. A press and a release in the same tick are applied
+     * in that order. Events still queued are applied on top.
+     */
+    public void setInput(int input) {
+        this.input = input;
+    }
+
+    /**
+     * @return the input collected for the next tick, a combination of the INPUT bits
+     */
+    public int getInput() {
+        return input;
+    }
+
+    /**
+     * @return nanoseconds between the last applied key event and the start of its tick
+     */
+    public long getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * @return the longest {@link #getInputLatency()} since the last reset
+     */
+    public long getMaxInputLatency() {
+        return maxInputLatency;
+    }
+
+    public void resetMaxInputLatency() {
+        maxInputLatency = 0;
+    }
+
+    /** Told about every tick, e.g. to record it. */
+    public interface TickListener {
+        /**
+         * Called right after a tick with the input it ran on.
+         */
+        void ticked(GameWorld world, int input);
+    }
+
+    /**
+     * @param listener told about every tick from now on, or null
+     */
+    public void setTickListener(TickListener listener) {
+        tickListener = listener;
+    }
+
+    /**
+     * @param runner runs the enemies' decisions, in parallel if it can; the result is the same either way
+     */
+    public void setTaskRunner(TaskRunner runner) {
+        firing.setRunner(runner);
+    }
+
+    @Override
+    public void dispose() {
+        physics.dispose();
+    }
+
+    /**
+     * ************************************************* Getters ******************************************************
+     */
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public PhysicsBackend getPhysics() {
+        return physics;
+    }
+
+    /**
+     * @return the engine holding every entity; renderers add their systems to it with processing disabled
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public Entity getPlayer() {
+        return player;
+    }
+
+    public Array<Entity> getEnemies() {
+        return enemies;
+    }
+
+    public BulletSystem getBullets() {
+        return bullets;
+    }
+
+    public FiringSystem getFiring() {
+        return firing;
+    }
+
+    /**
+     * @return the entities with a sprite inside the active region, the player included; a superset of the visible ones
+     */
+    public ImmutableArray<Entity> getAwakeSprites() {
+        return awakeSprites;
+    }
+
+    public ActiveRegion getActiveRegion() {
+        return activeRegion;
+    }
+
+    public SpatialGrid getEnemyGrid() {
+        return enemyGrid;
+    }
+
+    public AxisIndex getEnemyIndex() {
+        return enemyIndex;
+    }
+
+    /**
+     * @return the longest range of any enemy, in tiles
+     */
+    public float getMaxEnemyRange() {
+        return maxEnemyRange;
+    }
+
+    public Archetypes getArchetypes() {
+        return archetypes;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
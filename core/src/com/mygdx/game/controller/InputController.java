@@ -0,0 +1,53 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.InputAdapter;
+
+/**
+ * Translates key events into input events on the {@link GameWorld}, stamped with the time they arrive. The world
+ * applies each on the tick it belongs to.
+ */
+public class InputController extends InputAdapter {
+
+    private GameWorld world;
+
+    public InputController(GameWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+
+        switch (keycode) {
+            case Keys.LEFT:
+                world.setLeftPressed(true);
+                break;
+            case Keys.RIGHT:
+                world.setRightPressed(true);
+                break;
+            case Keys.SPACE:
+                world.pressJump();
+                break;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+
+        switch (keycode) {
+            case Keys.LEFT:
+                world.setLeftPressed(false);
+                break;
+            case Keys.RIGHT:
+                world.setRightPressed(false);
+                break;
+            case Keys.SPACE:
+                world.releaseJump();
+                break;
+        }
+
+        return true;
+    }
+}
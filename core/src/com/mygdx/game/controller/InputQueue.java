@@ -0,0 +1,87 @@
+package com.mygdx.game.controller;
+
+/**
+ * A bounded queue of timestamped input events for one producer and one consumer, which may be different threads. It
+ * takes no locks and allocates nothing after construction: the producer only writes the tail and the consumer only
+ * writes the head, each publishing through a volatile write after the slots it owns are filled or read.
+ */
+public class InputQueue {
+
+    /** Several seconds of frantic typing between two ticks. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] events;
+    private final long[] times;
+    private final int mask;
+
+    /* total events read and written; the slot of an event is its count masked */
+    private volatile int head;
+    private volatile int tail;
+
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity events the queue holds, rounded up to a power of two
+     */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        events = new int[size];
+        times = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Producer side.
+     *
+     * @param time when the event happened, in {@link com.badlogic.gdx.utils.TimeUtils#nanoTime()} nanoseconds
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean offer(int event, long time) {
+        int tail = this.tail;
+        if (tail - head == events.length) return false;
+        events[tail & mask] = event;
+        times[tail & mask] = time;
+        this.tail = tail + 1;
+        return true;
+    }
+
+    /**
+     * Consumer side.
+     *
+     * @return whether the oldest event happened at or before the given time
+     */
+    public boolean hasEventBefore(long time) {
+        int head = this.head;
+        return head != tail && times[head & mask] <= time;
+    }
+
+    /**
+     * Consumer side; only call after {@link #hasEventBefore(long)} returned true.
+     *
+     * @return the time of the oldest event
+     */
+    public long peekTime() {
+        return times[head & mask];
+    }
+
+    /**
+     * Consumer side; only call after {@link #hasEventBefore(long)} returned true.
+     *
+     * @return the oldest event, which is removed
+     */
+    public int poll() {
+        int head = this.head;
+        int event = events[head & mask];
+        this.head = head + 1;
+        return event;
+    }
+
+    /**
+     * @return the number of events queued, exact only on the consumer thread
+     */
+    public int size() {
+        return tail - head;
+    }
+}
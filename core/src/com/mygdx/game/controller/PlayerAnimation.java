@@ -0,0 +1,44 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.components.PlayerComponent;
+
+/**
+ * The frames of the player's sprite, picked by its state. The frames face left, sprites facing right are flipped.
+ */
+public class PlayerAnimation {
+
+    public static final float RUNNING_FRAME_DURATION = 0.09f;
+
+    private final TextureRegion idle;
+    private final TextureRegion jump;
+    private final Animation walk;
+
+    public PlayerAnimation(TextureAtlas atlas) {
+        idle = atlas.findRegion("solbrain/1");
+        jump = atlas.findRegion("solbrain/3");
+
+        TextureRegion[] walkFrames = new TextureRegion[6];
+        for (int i = 0; i < 6; i++) {
+            walkFrames[i] = atlas.findRegion("solbrain/" + (i + 6));
+        }
+        walk = new Animation(RUNNING_FRAME_DURATION, walkFrames);
+    }
+
+    /**
+     * @param stateTime seconds the player has been in the state
+     */
+    public TextureRegion getFrame(PlayerComponent.State state, float stateTime) {
+        switch (state) {
+            case Walking:
+                return walk.getKeyFrame(stateTime, true);
+            case Jumping:
+            case Falling:
+                return jump;
+            default:
+                return idle;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.mygdx.game.controller;
+
+/**
+ * Runs the ticks of a world away from the render thread, publishing a snapshot after each one for the renderer. Input
+ * still goes through the world's queue. Core has no threads; platforms that have them pass a {@link SimulationThread}.
+ */
+public interface SimulationLoop {
+
+    /**
+     * Starts ticking the world at {@link GameWorld#TICK}, after publishing a snapshot of its current state. The level
+     * of the world must not stream its chunks, see {@link com.mygdx.game.model.Level#isStreamed()}.
+     */
+    void start(GameWorld world, SnapshotBuffer snapshots);
+
+    /**
+     * Stops ticking until {@link #resume()}; the time in between is skipped, not caught up.
+     */
+    void pause();
+
+    void resume();
+
+    /**
+     * Stops ticking and returns after the last tick finished; the world may be used again from the calling thread.
+     */
+    void stop();
+}
@@ -0,0 +1,118 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.model.Level;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ticks a world on a thread of its own, so a slow frame doesn't hold up the simulation and a slow tick doesn't hold up
+ * the frame. Falls behind by at most {@link GameWorld#MAX_TICKS_PER_UPDATE} ticks before it skips time, like
+ * {@link GameWorld#update(float)}. Not available on GWT.
+ *
+ * The renderer draws everything but the tiles from snapshots. It reads the tiles from the level itself, so the level
+ * has to keep all of its chunks resident (constructed with a slot per chunk, see {@link Level#isStreamed()}) and must
+ * not be edited while the thread runs. Its chunks are then only written before {@link #start}, and starting the
+ * thread orders those writes before every read on either side.
+ */
+public class SimulationThread implements SimulationLoop, Runnable {
+
+    private final Object pauseLock = new Object();
+    private volatile boolean running;
+    private volatile boolean paused;
+    private Thread thread;
+    private GameWorld world;
+    private SnapshotBuffer snapshots;
+
+    @Override
+    public void start(GameWorld world, SnapshotBuffer snapshots) {
+        if (thread != null) throw new IllegalStateException("Already running");
+        if (world.getLevel().isStreamed()) {
+            throw new IllegalArgumentException("The level streams its chunks, the renderer would read them mid-load");
+        }
+        this.world = world;
+        this.snapshots = snapshots;
+        snapshots.getBack().capture(world);
+        snapshots.publish();
+
+        running = true;
+        paused = false;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            long next = TimeUtils.nanoTime();
+            while (running) {
+                if (paused) {
+                    waitWhilePaused();
+                    next = TimeUtils.nanoTime();
+                    continue;
+                }
+                long now = TimeUtils.nanoTime();
+                if (now < next) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                if (now - next > GameWorld.MAX_TICKS_PER_UPDATE * GameWorld.TICK_NANOS) next = now;
+
+                world.step();
+                snapshots.getBack().capture(world);
+                snapshots.publish();
+                next += GameWorld.TICK_NANOS;
+            }
+        } catch (final RuntimeException e) {
+            // crash the app the same way a failing tick on the render thread would
+            Gdx.app.postRunnable(new Runnable() {
+                @Override
+                public void run() {
+                    throw new GdxRuntimeException("Simulation failed", e);
+                }
+            });
+        }
+    }
+
+    private void waitWhilePaused() {
+        synchronized (pauseLock) {
+            while (paused && running) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    running = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void pause() {
+        paused = true;
+    }
+
+    @Override
+    public void resume() {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (thread == null) return;
+        running = false;
+        resume();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mygdx.game.controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands {@link WorldSnapshot}s from the thread that ticks the world to the render thread without locks. Of the three
+ * snapshots the producer owns one to capture into, the consumer owns one to draw from and the third is shared; both
+ * sides only ever swap their own with the shared one. The consumer always gets the latest snapshot and neither side
+ * waits for the other.
+ */
+public class SnapshotBuffer {
+
+    /* set in the shared index when the producer published it and the consumer hasn't taken it yet */
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final WorldSnapshot[] snapshots = { new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot() };
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Producer side.
+     *
+     * @return the snapshot to capture into next
+     */
+    public WorldSnapshot getBack() {
+        return snapshots[back];
+    }
+
+    /**
+     * Producer side: makes the captured snapshot the latest one.
+     */
+    public void publish() {
+        back = shared.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Consumer side.
+     *
+     * @return the latest published snapshot, which stays untouched until the next call
+     */
+    public WorldSnapshot acquire() {
+        if ((shared.get() & FRESH) != 0) front = shared.getAndSet(front) & INDEX;
+        return snapshots[front];
+    }
+}
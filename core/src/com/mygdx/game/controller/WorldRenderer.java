@@ -1,575 +1,285 @@
 package com.mygdx.game.controller;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input.Keys;
-import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.*;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Pool;
-import com.mygdx.game.model.Enemy;
-import com.mygdx.game.model.Level;
-import com.mygdx.game.model.Player;
+import com.badlogic.gdx.utils.viewport.ScalingViewport;
+import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.profiling.FrameProfiler;
+
+/**
+ * Draws a {@link GameWorld} from {@link WorldSnapshot}s. Captures one itself every frame, or draws the latest one a
+ * {@link SimulationLoop} published on another thread; positions are interpolated between the tick of the snapshot and
+ * the one before. Only the tiles are read from the level itself, which a simulation loop keeps fully resident.
+ */
+public class WorldRenderer {
+
+    private ChunkRenderer renderer;
+    private OrthographicCamera camera;
 
-public class WorldRenderer implements InputProcessor {
+    private GameWorld world;
 
-    public static final float UNIT_SCALE = 1/16f;
-    public static final float RUNNING_FRAME_DURATION = 0.09f;
+    /* captured here every frame, unless snapshots come from another thread */
+    private final WorldSnapshot ownSnapshot = new WorldSnapshot();
+    private SnapshotBuffer snapshots;
 
-    private OrthogonalTiledMapRenderer renderer;
-    private OrthographicCamera camera;
+    /* shared by the sprites and the HUD; with every sprite in one atlas page it rarely rebinds */
+    private SpriteBatch spriteBatch;
+    private TextureAtlas atlas;
 
-    private Level level;
-    private Player player;
+    /* render calls (batch flushes) and texture binds of the last frame */
+    private int renderCalls;
+    private int textureBindings;
+    private boolean profiling;
 
-    private Batch spriteBatch;
+    private FrameProfiler profiler;
+    private int snapshotPhase;
+    private int tilesPhase;
+    private int spritesPhase;
+    private int bulletsPhase;
+    private int debugPhase;
+    private int hudPhase;
 
-    /* Textures for Player */
-    private TextureRegion playerIdleLeft;
-    private TextureRegion playerIdleRight;
-    private TextureRegion playerJumpLeft;
-    private TextureRegion playerJumpRight;
+    private PlayerAnimation animation;
+    /* atlas regions by sprite name, resolved on first draw */
+    private final ObjectMap<String, TextureRegion> regions = new ObjectMap<String, TextureRegion>();
 
-    private TextureRegion enemyFrame;
     private TextureRegion bulletFrame;
-    private TextureRegion playerFrame;
-
-    private Array<Enemy> enemyList;
-    private Array<Enemy> bulletList;
-    private Array<Enemy> bulletsToRemove;
 
-    /* Animations for Player */
-    private Animation walkLeftAnimation;
-    private Animation walkRightAnimation;
+    private DebugOverlay debug;
 
-    private boolean jumpingPressed;
-    private long jumpPressedTime;
+    /* interpolated player position of the current frame */
+    private final Vector2 playerPosition = new Vector2();
+    private final Vector2 tmp = new Vector2();
+    private float alpha;
 
-    /* for debug rendering */
-    ShapeRenderer debugRenderer;
+    /* what the camera shows this frame, for culling */
+    private final ActiveRegion view = new ActiveRegion(GameWorld.VIEW_WIDTH, GameWorld.VIEW_HEIGHT, 0);
 
-    private Array<Rectangle> tiles;
-    private Array<Rectangle> enemyTiles;
-    private Array<Rectangle> bulletTiles;
-
-    float timer = 0f;
-    int time = 0;
-    int score;
+    private int displayedScore;
+    private final StringBuilder scoreText = new StringBuilder();
 
     private Stage stage;
     private Label label;
     private BitmapFont font;
 
-    private Pool<Rectangle> rectPool = new Pool<Rectangle>() {
-        @Override
-        protected Rectangle newObject () {
-            return new Rectangle();
-        }
-    };
+    /**
+     * @param atlas the sprite atlas, {@link com.mygdx.game.Assets#ATLAS}
+     * @param font the HUD font, {@link com.mygdx.game.Assets#FONT}
+     */
+    public WorldRenderer(GameWorld world, TextureAtlas atlas, BitmapFont font) {
 
-    public WorldRenderer() {
+        this.world = world;
 
-        score = 0 ;
-        font = new BitmapFont();
-        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        displayedScore = world.getScore();
+        this.atlas = atlas;
+        this.font = font;
+        spriteBatch = new SpriteBatch();
 
-        stage = new Stage();
-        label = new Label("Score : " + score, new Label.LabelStyle(font, Color.WHITE));
+        stage = new Stage(new ScalingViewport(Scaling.stretch, Gdx.graphics.getWidth(), Gdx.graphics.getHeight(),
+                new OrthographicCamera()), spriteBatch);
+        label = new Label(scoreText(), new Label.LabelStyle(font, Color.WHITE));
         label.setPosition(10, Gdx.graphics.getHeight() * 0.9f);
 
         stage.addActor(label);
         //font.scale(0.001f);
 
-        level = new Level("level1.tmx");
-        player = new Player();
-        enemyList = new Array<Enemy>();
-        bulletList = new Array<Enemy>();
-        bulletsToRemove = new Array<Enemy>();
-
-        loadPlayerTextures();
-
-        tiles = new Array<Rectangle>();
-        enemyTiles = new Array<Rectangle>();
-        bulletTiles = new Array<Rectangle>();
-
-        Gdx.input.setInputProcessor(this);
-
-        player.setPosition(new Vector2(15, 17));
-        player.setWidth( UNIT_SCALE * playerIdleRight.getRegionWidth());
-        player.setHeight( UNIT_SCALE * playerIdleRight.getRegionHeight());
+        bulletFrame = atlas.findRegion("bullet");
+        animation = new PlayerAnimation(atlas);
 
-        loadEnemies();
-
-        renderer = new OrthogonalTiledMapRenderer(level.getMap(), UNIT_SCALE);
-        spriteBatch = renderer.getBatch();
-        debugRenderer = new ShapeRenderer();
+        renderer = new ChunkRenderer(world.getLevel(), GameWorld.VIEW_WIDTH);
+        debug = new DebugOverlay(world.getLevel());
 
         camera = new OrthographicCamera();
-        camera.setToOrtho(false, 30, 20);
+        camera.setToOrtho(false, GameWorld.VIEW_WIDTH, GameWorld.VIEW_HEIGHT);
         camera.update();
 
+        setProfiler(new FrameProfiler());
     }
 
     public void render (float delta) {
 
-        debugRenderer.setProjectionMatrix(camera.combined);
-
-        renderer.setView(camera);
-
-        camera.position.x = player.getPosition().x;
-        camera.update();
-
-        renderer.render();
-
-        spriteBatch.begin();
-
-        drawPlayer();
-        drawEnemies();
-        drawBullets();
-
-        spriteBatch.end();
-
-        drawDebug();
-
-        updatePlayer(delta);
-
-        timer+=delta;
-
-        if (timer >= 1f) {
-
-            updateEnemy(delta);
-            time++;
-            timer-=1f;
-
-        }
-
-        updateBullets(delta);
-
-        stage.draw();
-
-    }
-
-    public void updatePlayer(float delta){
-        if (delta == 0) return;
-
-        if (Gdx.input.isKeyPressed(Keys.LEFT)) {
-
-            player.getVelocity().x = -Player.MAX_VELOCITY;
-            if (player.isGrounded()) {
-                player.setState(Player.State.Walking);
-            }
-            player.setFacingRight(false);
-        }
-
-        if (Gdx.input.isKeyPressed(Keys.RIGHT)) {
-
-            player.getVelocity().x = Player.MAX_VELOCITY;
-            if (player.isGrounded()) {
-                player.setState(Player.State.Walking);
-            }
-            player.setFacingRight(true);
-        }
-
-
-        if(player.getState() != Player.State.Falling){
-            if(player.getVelocity().y < 0){
-                player.setState(Player.State.Falling);
-                player.setGrounded(false);
-
-            }
-        }
-
-        player.getAcceleration().y = Player.GRAVITY;
-        player.getAcceleration().scl(delta);
-        player.getVelocity().add(player.getAcceleration().x, player.getAcceleration().y);
-
-        // clamp the velocity to the maximum, x-axis only
-        if (Math.abs(player.getVelocity().x) > Player.MAX_VELOCITY) {
-            player.getVelocity().x = Math.signum(player.getVelocity().x) * Player.MAX_VELOCITY;
-        }
-
-        // clamp the velocity to 0 if it's < 1, and set the state to standing
-        if (Math.abs(player.getVelocity().x) < 1) {
-            player.getVelocity().x = 0;
-            if (player.isGrounded()) {
-                player.setState(Player.State.Standing);
-            }
-        }
-
-        player.getVelocity().scl(delta);
-
-        // perform collision detection & response, on each axis, separately
-        // if the koala is moving right, check the tiles to the right of it's
-        // right bounding box edge, otherwise check the ones to the left
-        Rectangle playerRect = rectPool.obtain();
-        playerRect.set(player.getPosition().x, player.getPosition().y, player.getWidth(), player.getHeight());
-
-        int startX, startY, endX, endY;
-        if (player.getVelocity().x > 0) {
-            startX = endX = (int)(player.getPosition().x + player.getWidth() + player.getVelocity().x);
+        profiler.begin();
+        WorldSnapshot snapshot;
+        if (snapshots != null) {
+            snapshot = snapshots.acquire();
+            alpha = snapshot.alphaAt(TimeUtils.nanoTime());
         } else {
-            startX = endX = (int)(player.getPosition().x + player.getVelocity().x);
+            ownSnapshot.capture(world);
+            snapshot = ownSnapshot;
+            alpha = world.getAlpha();
         }
+        playerPosition.set(snapshot.playerPreviousX, snapshot.playerPreviousY)
+                .lerp(tmp.set(snapshot.playerX, snapshot.playerY), alpha);
+        profiler.end(snapshotPhase);
 
-        startY = (int)(player.getPosition().y);
-        endY = (int)(player.getPosition().y + player.getHeight());
-        getTiles(startX, startY, endX, endY, tiles);
-
-        playerRect.x += player.getVelocity().x;
-
-        for (Rectangle tile : tiles) {
-
-            if (playerRect.overlaps(tile)) {
-                player.getVelocity().x = 0;
-                break;
-            }
-        }
-
-        playerRect.set(player.getPosition().x, player.getPosition().y, player.getWidth(), player.getHeight());
-
-        // if the koala is moving upwards, check the tiles to the top of it's
-        // top bounding box edge, otherwise check the ones to the bottom
-        if (player.getVelocity().y > 0) {
-            startY = endY = (int)(player.getPosition().y + player.getHeight() + player.getVelocity().y);
-        } else {
-            startY = endY = (int)(player.getPosition().y + player.getVelocity().y);
-        }
-
-        startX = (int)(player.getPosition().x);
-        endX = (int)(player.getPosition().x + player.getWidth());
-        getTiles(startX, startY, endX, endY, tiles);
-        playerRect.y += player.getVelocity().y;
-        for (Rectangle tile : tiles) {
-            if (playerRect.overlaps(tile)) {
-                // we actually reset the koala y-position here
-                // so it is just below/above the tile we collided with
-                // this removes bouncing :)
-                if (player.getVelocity().y > 0) {
-                    player.getVelocity().y = tile.y - player.getHeight();
-                    // we hit a block jumping upwards, let's destroy it!
-                    //					TiledMapTileLayer layer = (TiledMapTileLayer)level.getMap().getLayers().get(1);
-                    //					layer.setCell((int)tile.x, (int)tile.y, null);
-                } else {
-                    player.getPosition().y = tile.y + tile.height;
-                    // if we hit the ground, mark us as grounded so we can jump
-                    player.setGrounded(true);
-                }
-                player.getVelocity().y = 0;
-                break;
-            }
-        }
-
-        startX = (int)(player.getPosition().x - player.getWidth());
-        endX =  (int)(player.getPosition().x + player.getWidth()*2);
-
-        startY = (int)(player.getPosition().y - player.getHeight());
-        endY =  (int)(player.getPosition().y + player.getHeight()*2);
-
-        getEnemyTiles(startX, startY, endX, endY, enemyTiles);
+        camera.position.x = playerPosition.x;
+        camera.update();
+        view.setCenter(camera.position.x, camera.position.y);
 
-        for(Rectangle tile : enemyTiles){
-            if (playerRect.overlaps(tile)) {
-                player.setPosition(new Vector2(15, 17));
-                bulletList.clear();
-                score++;
-                label.setText("Score : " + score);
-            }
-        }
+        spriteBatch.setProjectionMatrix(camera.combined);
 
-        getBulletTiles(startX, startY, endX, endY, bulletTiles);
-        for(Rectangle tile : bulletTiles){
-            if (playerRect.overlaps(tile)) {
-                player.setPosition(new Vector2(15, 17));
-                bulletList.clear();
-                score++;
-                label.setText("Score : " + score);
-            }
-        }
+        if (profiling) GLProfiler.reset();
 
-        rectPool.free(playerRect);
-        // unscale the velocity by the inverse delta time and set
-        // the latest position
-        player.getPosition().add(player.getVelocity());
+        profiler.begin();
+        renderer.render(camera.combined, view);
+        profiler.end(tilesPhase);
 
-        player.getVelocity().scl(1 / delta);
+        spriteBatch.begin();
 
-        player.getVelocity().x *= Player.DAMPING;
+        drawSprites(snapshot);
+        profiler.end(spritesPhase);
+        drawBullets(snapshot);
 
-        player.setStateTime(player.getStateTime() + delta);
+        spriteBatch.end();
+        profiler.end(bulletsPhase);
+        renderCalls = renderer.getRenderCalls() + spriteBatch.renderCalls;
 
-        player.getPosition().y += player.getVelocity().cpy().scl(delta).y;
+        debug.render(camera.combined, view, snapshot, alpha);
+        profiler.end(debugPhase);
 
-        if(player.getPosition().y < 0){
-            player.setPosition(new Vector2(15, 17));
+        if (snapshot.score != displayedScore) {
+            displayedScore = snapshot.score;
+            label.setText(scoreText());
         }
 
-    }
-
-
-    public void updateEnemy(float delta){
-
-        Enemy bullet = null;
-
-        for(Enemy enemy : enemyList){
+        stage.draw();
+        profiler.end(hudPhase);
+        renderCalls += spriteBatch.renderCalls;
 
-            //check distance and if player is behind enemy
-            if( enemy.getPosition().x - player.getPosition().x <= 12 && enemy.getPosition().x > player.getPosition().x){
-                bullet = new Enemy(new Vector2(enemy.getPosition().x, enemy.getPosition().y + enemy.getHeight() * 0.7f));
-                bullet.setWidth(player.getWidth()/4);
-                bullet.setHeight(player.getWidth()/4);
-                bullet.setVelocity(new Vector2(-Player.MAX_VELOCITY,0));
-                bulletList.add(bullet);
-            }
-
-        }
+        if (profiling) textureBindings = GLProfiler.textureBindings;
 
     }
 
-    public void updateBullets(float delta){
-
-        for(Enemy enemy : bulletList){
-            if(enemy.getPosition().x < 0){
-                bulletsToRemove.add(enemy);
-            }else {
-                enemy.getVelocity().scl(delta);
-                enemy.getPosition().add(enemy.getVelocity());
-                enemy.getVelocity().scl(1 / delta);
-            }
-        }
-
-        bulletList.removeAll(bulletsToRemove, false);
-
+    /**
+     * Draws the snapshots of a {@link SimulationLoop} from now on, instead of capturing the world every frame.
+     */
+    public void setSnapshots(SnapshotBuffer snapshots) {
+        this.snapshots = snapshots;
     }
 
-    public void loadPlayerTextures(){
-
-        TextureAtlas atlas = new TextureAtlas(Gdx.files.internal("solbrain.pack"));
-
-		/* Standing */
-        playerIdleLeft = atlas.findRegion("1");
-
-        playerIdleRight = new TextureRegion(playerIdleLeft);
-        playerIdleRight.flip(true, false);
-
-        TextureRegion[] walkLeftFrames = new TextureRegion[6];
-
-        for (int i = 0; i < 6; i++) {
-            walkLeftFrames[i] =  atlas.findRegion(((i+6)+""));
-        }
-
-        walkLeftAnimation = new Animation(RUNNING_FRAME_DURATION, walkLeftFrames);
-
-        TextureRegion[] walkRightFrames = new TextureRegion[6];
-        for (int i = 0; i < 6; i++) {
-            walkRightFrames[i] = new TextureRegion(walkLeftFrames[i]);
-            walkRightFrames[i].flip(true, false);
+    /**
+     * Counts texture binds with the {@link GLProfiler}, which wraps every GL call while enabled.
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+        if (profiling) {
+            GLProfiler.enable();
+        } else {
+            GLProfiler.disable();
         }
-
-        walkRightAnimation = new Animation(RUNNING_FRAME_DURATION, walkRightFrames);
-
-        playerJumpLeft = atlas.findRegion("3");
-        playerJumpRight = new TextureRegion(playerJumpLeft);
-        playerJumpRight.flip(true, false);
-
-        enemyFrame = new TextureRegion(new Texture("94.png"));
-        enemyFrame.flip(true, false);
-
-        bulletFrame = new TextureRegion(new Texture("0.png"));
-
     }
 
-    public void loadEnemies(){
-
-        // Normal enemies
-        Enemy en1 = new Enemy(new Vector2(33, 2));
-        Enemy en2 = new Enemy(new Vector2(44, 2));
-        Enemy en3 = new Enemy(new Vector2(55, 2));
-        Enemy en4 = new Enemy(new Vector2(100, 2));
-        Enemy en5 = new Enemy(new Vector2(100, 6));
-
-        en1.setWidth(player.getWidth());
-        en2.setWidth(player.getWidth());
-        en3.setWidth(player.getWidth());
-        en4.setWidth(player.getWidth());
-        en5.setWidth(player.getWidth());
-
-        en1.setHeight(player.getHeight());
-        en2.setHeight(player.getHeight());
-        en3.setHeight(player.getHeight());
-        en4.setHeight(player.getHeight());
-        en5.setHeight(player.getHeight());
-
-        enemyList.add(en1);
-        enemyList.add(en2);
-        enemyList.add(en3);
-        enemyList.add(en4);
-        enemyList.add(en5);
-
-    }
-
-    private void getTiles(int startX, int startY, int endX, int endY, Array<Rectangle> tiles) {
-        TiledMapTileLayer layer = (TiledMapTileLayer)level.getMap().getLayers().get(1);
-        rectPool.freeAll(tiles);
-        tiles.clear();
-        for (int y = startY; y <= endY; y++) {
-            for (int x = startX; x <= endX; x++) {
-                Cell cell = layer.getCell(x, y);
-                if (cell != null) {
-                    Rectangle rect = rectPool.obtain();
-                    rect.set(x, y, 1, 1);
-                    tiles.add(rect);
-                }
-            }
-        }
+    /**
+     * Adds the passes of {@link #render(float)} as phases of the profiler and times them with it from now on. The
+     * bullets phase includes flushing the sprite batch, so the time the GL driver takes for all the sprites.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+        debug.setProfiler(profiler);
+        snapshotPhase = profiler.addPhase("snapshot");
+        tilesPhase = profiler.addPhase("tiles");
+        spritesPhase = profiler.addPhase("sprites");
+        bulletsPhase = profiler.addPhase("bullets");
+        debugPhase = profiler.addPhase("debug");
+        hudPhase = profiler.addPhase("hud");
     }
 
-    private void getEnemyTiles (int startX, int startY, int endX, int endY, Array<Rectangle> tiles) {
-        rectPool.freeAll(tiles);
-        tiles.clear();
-        for (Enemy enemy : enemyList) {
-            if(startX < enemy.getPosition().x && endX > enemy.getPosition().x){
-                Rectangle rect = rectPool.obtain();
-                rect.set(enemy.getPosition().x, enemy.getPosition().y, enemy.getWidth(), enemy.getHeight());
-                tiles.add(rect);
-            }
-        }
+    /**
+     * @return the overlay drawn over the world after the sprites, off until enabled
+     */
+    public DebugOverlay getDebugOverlay() {
+        return debug;
     }
 
-    private void getBulletTiles(int startX, int startY, int endX, int endY, Array<Rectangle> tiles){
-        rectPool.freeAll(tiles);
-        tiles.clear();
-        for (Enemy enemy : bulletList) {
-            if(startX < enemy.getPosition().x && endX > enemy.getPosition().x){
-                Rectangle rect = rectPool.obtain();
-                rect.set(enemy.getPosition().x, enemy.getPosition().y, enemy.getWidth(), enemy.getHeight());
-                tiles.add(rect);
-            }
-        }
+    /**
+     * @return the render calls of the map, world and HUD passes of the last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
     }
 
-    public void drawPlayer(){
-
-        playerFrame = player.isFacingRight() ? playerIdleRight : playerIdleLeft;
-
-        if(player.getState() == Player.State.Walking) {
-
-            playerFrame = player.isFacingRight() ? walkRightAnimation.getKeyFrame(player.getStateTime(), true) : walkLeftAnimation.getKeyFrame(player.getStateTime(), true);
-
-        } else if (player.getState() == Player.State.Jumping) {
-
-            playerFrame = player.isFacingRight() ? playerJumpRight : playerJumpLeft;
-
-        }else if (player.getState() == Player.State.Falling){
-
-            playerFrame = player.isFacingRight() ? playerJumpRight : playerJumpLeft;
-
-        }
-
-        spriteBatch.draw(playerFrame, player.getPosition().x, player.getPosition().y, player.getWidth(), player.getHeight());
-
+    /**
+     * @return the texture binds of the last frame, only counted while profiling
+     */
+    public int getTextureBindings() {
+        return textureBindings;
     }
 
-    public void drawEnemies(){
-        for(Enemy enemy : enemyList){
-            spriteBatch.draw(enemyFrame, enemy.getPosition().x, enemy.getPosition().y, enemy.getWidth(), enemy.getHeight());
-        }
+    /**
+     * Rewrites the score text in place; Label copies a StringBuilder without allocating.
+     */
+    private StringBuilder scoreText() {
+        scoreText.setLength(0);
+        scoreText.append("Score : ").append(displayedScore);
+        return scoreText;
     }
 
-    public void drawBullets(){
-        for(Enemy enemy : bulletList){
-            spriteBatch.draw(bulletFrame, enemy.getPosition().x, enemy.getPosition().y, enemy.getWidth(), enemy.getHeight());
+    /**
+     * Draws the player and every sprite inside the view, at their positions interpolated between the last two ticks.
+     * Sprite frames face left, the ones facing right are flipped.
+     */
+    private void drawSprites(WorldSnapshot snapshot) {
+        float width = snapshot.playerWidth;
+        float height = snapshot.playerHeight;
+        TextureRegion frame = animation.getFrame(snapshot.playerState, snapshot.playerStateTime);
+        if (snapshot.playerFacingRight) {
+            spriteBatch.draw(frame, playerPosition.x + width, playerPosition.y, -width, height);
+        } else {
+            spriteBatch.draw(frame, playerPosition.x, playerPosition.y, width, height);
         }
-    }
-
-    public void drawDebug(){
-
-        debugRenderer.begin(ShapeType.Line);
 
-        debugRenderer.setColor(new Color(0, 1, 0, 1));
-        debugRenderer.rect(player.getPosition().x, player.getPosition().y, player.getWidth(), player.getHeight());
+        for (int i = 0; i < snapshot.spriteCount; i++) {
+            float x = snapshot.spritePreviousX[i] + (snapshot.spriteX[i] - snapshot.spritePreviousX[i]) * alpha;
+            float y = snapshot.spritePreviousY[i] + (snapshot.spriteY[i] - snapshot.spritePreviousY[i]) * alpha;
+            width = snapshot.spriteWidth[i];
+            height = snapshot.spriteHeight[i];
+            if (!view.isVisible(x, y, width, height)) continue;
 
-        debugRenderer.end();
-
-    }
-
-    @Override
-    public boolean keyDown(int keycode) {
-
-        // check input and apply to velocity & state
-        if (keycode == Keys.SPACE && player.isGrounded() && player.getState() != Player.State.Falling) {
-            if (!player.getState().equals(Player.State.Jumping)) {
-                jumpingPressed = true;
-                player.setGrounded(false);
-                jumpPressedTime = System.currentTimeMillis();
-                player.setState(Player.State.Jumping);
-                player.getVelocity().y = Player.MAX_JUMP_SPEED;
+            TextureRegion region = region(snapshot.spriteName[i]);
+            if (snapshot.spriteFlipX[i]) {
+                spriteBatch.draw(region, x + width, y, -width, height);
             } else {
-
-                if ((jumpingPressed && ((System.currentTimeMillis() - jumpPressedTime) >= Player.LONG_JUMP_PRESS))) {
-                    jumpingPressed = false;
-                } else {
-                    if (jumpingPressed) {
-                        player.getVelocity().y = Player.MAX_JUMP_SPEED;
-                    }
-                }
+                spriteBatch.draw(region, x, y, width, height);
             }
         }
-
-        return true;
     }
 
-    @Override
-    public boolean keyUp(int keycode) {
-
-        if(keycode == Keys.SPACE && player.getState() == Player.State.Jumping){
-            player.getAcceleration().y = Player.GRAVITY;
-            player.getAcceleration().scl(Gdx.graphics.getDeltaTime());
-            player.getVelocity().add(player.getAcceleration().x, player.getAcceleration().y);
-            player.setState(Player.State.Falling);
-            jumpingPressed = false;
+    private TextureRegion region(String name) {
+        TextureRegion region = regions.get(name);
+        if (region == null) {
+            region = atlas.findRegion(name);
+            if (region == null) throw new GdxRuntimeException("No region in the atlas: " + name);
+            regions.put(name, region);
         }
-        return true;
+        return region;
     }
 
-    @Override
-    public boolean keyTyped(char character) {
-        return false;
-    }
-
-    @Override
-    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-        return false;
-    }
-
-    @Override
-    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-        return false;
-    }
-
-    @Override
-    public boolean touchDragged(int screenX, int screenY, int pointer) {
-        return false;
-    }
-
-    @Override
-    public boolean mouseMoved(int screenX, int screenY) {
-        return false;
+    private void drawBullets(WorldSnapshot snapshot) {
+        // bullets fly in a straight line, so the position one tick back is cheaper to derive than to store
+        float back = (1 - alpha) * GameWorld.TICK;
+        for (int i = 0; i < snapshot.bulletCount; i++) {
+            float x = snapshot.bulletX[i] - snapshot.bulletVelocityX[i] * back;
+            float y = snapshot.bulletY[i] - snapshot.bulletVelocityY[i] * back;
+            if (!view.isVisible(x, y, snapshot.bulletWidth[i], snapshot.bulletHeight[i])) continue;
+            spriteBatch.draw(bulletFrame, x, y, snapshot.bulletWidth[i], snapshot.bulletHeight[i]);
+        }
     }
 
-    @Override
-    public boolean scrolled(int amount) {
-        return false;
+    public void dispose() {
+        renderer.dispose();
+        spriteBatch.dispose();
+        debug.dispose();
+        stage.dispose();
     }
 
-}
\ No newline at end of file
+}
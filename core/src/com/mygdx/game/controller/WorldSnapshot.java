@@ -0,0 +1,162 @@
+package com.mygdx.game.controller;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.components.AiComponent;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.components.SpriteComponent;
+import com.mygdx.game.systems.BulletSystem;
+
+/**
+ * Everything the renderer needs of a world after a tick: the player, the awake sprites and the bullets, copied by
+ * value. Sprites hold their position before and after the tick, so one snapshot is enough to interpolate. The arrays
+ * only grow, so capturing allocates nothing once they fit the busiest tick. Once published a snapshot is only read.
+ */
+public class WorldSnapshot {
+
+    long tick;
+    long time;
+    int score;
+
+    float playerX, playerY, playerPreviousX, playerPreviousY;
+    float playerWidth, playerHeight;
+    PlayerComponent.State playerState;
+    boolean playerFacingRight;
+    float playerStateTime;
+
+    /* the awake sprites other than the player */
+    int spriteCount;
+    float[] spriteX = new float[0];
+    float[] spriteY = new float[0];
+    float[] spritePreviousX = new float[0];
+    float[] spritePreviousY = new float[0];
+    float[] spriteWidth = new float[0];
+    float[] spriteHeight = new float[0];
+    String[] spriteName = new String[0];
+    boolean[] spriteFlipX = new boolean[0];
+    /* fire range of the turrets, 0 for other sprites, and whether the turret saw the player when it last looked */
+    float[] spriteRange = new float[0];
+    boolean[] spriteSeesPlayer = new boolean[0];
+
+    int bulletCount;
+    float[] bulletX = new float[0];
+    float[] bulletY = new float[0];
+    float[] bulletVelocityX = new float[0];
+    float[] bulletVelocityY = new float[0];
+    float[] bulletWidth = new float[0];
+    float[] bulletHeight = new float[0];
+
+    /**
+     * Copies the state of the world, which must not tick meanwhile.
+     */
+    public void capture(GameWorld world) {
+        tick = world.getTicks();
+        time = TimeUtils.nanoTime();
+        score = world.getScore();
+
+        Entity player = world.getPlayer();
+        PositionComponent position = Mappers.position.get(player);
+        ColliderComponent collider = Mappers.collider.get(player);
+        PlayerComponent state = Mappers.player.get(player);
+        playerX = position.position.x;
+        playerY = position.position.y;
+        playerPreviousX = position.previous.x;
+        playerPreviousY = position.previous.y;
+        playerWidth = collider.width;
+        playerHeight = collider.height;
+        playerState = state.state;
+        playerFacingRight = state.facingRight;
+        playerStateTime = state.stateTime;
+
+        ImmutableArray<Entity> sprites = world.getAwakeSprites();
+        ensureSprites(sprites.size());
+        spriteCount = 0;
+        for (int i = 0; i < sprites.size(); i++) {
+            Entity entity = sprites.get(i);
+            if (entity == player) continue;
+            position = Mappers.position.get(entity);
+            collider = Mappers.collider.get(entity);
+            SpriteComponent sprite = Mappers.sprite.get(entity);
+            int j = spriteCount++;
+            spriteX[j] = position.position.x;
+            spriteY[j] = position.position.y;
+            spritePreviousX[j] = position.previous.x;
+            spritePreviousY[j] = position.previous.y;
+            spriteWidth[j] = collider.width;
+            spriteHeight[j] = collider.height;
+            spriteName[j] = sprite.name;
+            spriteFlipX[j] = sprite.flipX;
+            AiComponent ai = Mappers.ai.get(entity);
+            spriteRange[j] = ai == null ? 0 : ai.archetype.range;
+            spriteSeesPlayer[j] = ai != null && ai.canSee;
+        }
+
+        BulletSystem bullets = world.getBullets();
+        bulletCount = bullets.size();
+        ensureBullets(bulletCount);
+        for (int i = 0; i < bulletCount; i++) {
+            bulletX[i] = bullets.getX(i);
+            bulletY[i] = bullets.getY(i);
+            bulletVelocityX[i] = bullets.getVelocityX(i);
+            bulletVelocityY[i] = bullets.getVelocityY(i);
+            bulletWidth[i] = bullets.getWidth(i);
+            bulletHeight[i] = bullets.getHeight(i);
+        }
+    }
+
+    private void ensureSprites(int count) {
+        if (spriteX.length >= count) return;
+        int size = Math.max(count, spriteX.length * 2);
+        spriteX = new float[size];
+        spriteY = new float[size];
+        spritePreviousX = new float[size];
+        spritePreviousY = new float[size];
+        spriteWidth = new float[size];
+        spriteHeight = new float[size];
+        spriteName = new String[size];
+        spriteFlipX = new boolean[size];
+        spriteRange = new float[size];
+        spriteSeesPlayer = new boolean[size];
+    }
+
+    private void ensureBullets(int count) {
+        if (bulletX.length >= count) return;
+        int size = Math.max(count, bulletX.length * 2);
+        bulletX = new float[size];
+        bulletY = new float[size];
+        bulletVelocityX = new float[size];
+        bulletVelocityY = new float[size];
+        bulletWidth = new float[size];
+        bulletHeight = new float[size];
+    }
+
+    /**
+     * @return how far the given time is into the tick after this one, in [0, 1], for snapshots published as their
+     *         ticks run in real time
+     */
+    public float alphaAt(long now) {
+        return Math.min(1, Math.max(0, (now - time) / (float)GameWorld.TICK_NANOS));
+    }
+
+    /**
+     * @return the number of ticks the world had run
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return when it was captured, in {@link TimeUtils#nanoTime()} nanoseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The enemy archetypes of the game by name, read from a JSON object of {@link EnemyArchetype}s. Objects placed in a
+ * level spawn the archetype named by their type.
+ */
+public class Archetypes {
+
+    public static final String FILE = "enemies.json";
+
+    private final ObjectMap<String, EnemyArchetype> archetypes;
+
+    public Archetypes(ObjectMap<String, EnemyArchetype> archetypes) {
+        this.archetypes = archetypes;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Archetypes load(FileHandle file) {
+        return new Archetypes(new Json().fromJson(ObjectMap.class, EnemyArchetype.class, file));
+    }
+
+    /**
+     * @return the archetype with the name, or null if there is none
+     */
+    public EnemyArchetype find(String name) {
+        return archetypes.get(name);
+    }
+
+    /**
+     * @throws GdxRuntimeException if there is no archetype with the name
+     */
+    public EnemyArchetype get(String name) {
+        EnemyArchetype archetype = archetypes.get(name);
+        if (archetype == null) throw new GdxRuntimeException("Unknown enemy archetype: " + name);
+        return archetype;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Parses {@link Archetypes} off the render thread.
+ */
+public class ArchetypesLoader extends AsynchronousAssetLoader<Archetypes, ArchetypesLoader.ArchetypesParameter> {
+
+    public static class ArchetypesParameter extends AssetLoaderParameters<Archetypes> {
+    }
+
+    private Archetypes archetypes;
+
+    public ArchetypesLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, ArchetypesParameter parameter) {
+        return null;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, ArchetypesParameter parameter) {
+        archetypes = Archetypes.load(file);
+    }
+
+    @Override
+    public Archetypes loadSync(AssetManager manager, String fileName, FileHandle file, ArchetypesParameter parameter) {
+        Archetypes result = archetypes;
+        archetypes = null;
+        return result;
+    }
+}
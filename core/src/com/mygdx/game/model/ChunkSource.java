@@ -0,0 +1,47 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Where a {@link Level} gets its chunks from. {@link #read(int, LevelChunk)} may be called from a background thread,
+ * one call at a time; everything else is called on the game thread.
+ */
+public interface ChunkSource {
+
+    /**
+     * @return the width of the level, in tiles
+     */
+    int getWidth();
+
+    /**
+     * @return the height of the level, in tiles
+     */
+    int getHeight();
+
+    int getLayerCount();
+
+    /**
+     * @return the number of chunks, the width divided by {@link LevelChunk#WIDTH} and rounded up
+     */
+    int getChunkCount();
+
+    float getTileWidth();
+
+    float getTileHeight();
+
+    /**
+     * @return the tiles the tile ids of the chunks refer to
+     */
+    TiledMapTileSets getTileSets();
+
+    /**
+     * @return the objects placed in the level, e.g. spawn points
+     */
+    Array<LevelObject> getObjects();
+
+    /**
+     * Fills the chunk with the tiles and collision bits of the chunk at the index. Columns past the level are empty.
+     */
+    void read(int index, LevelChunk chunk);
+}
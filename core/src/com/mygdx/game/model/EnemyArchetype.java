@@ -0,0 +1,28 @@
+package com.mygdx.game.model;
+
+/**
+ * What all enemies of one kind share, as defined in {@link Archetypes#FILE}. Every enemy of a kind points to the same
+ * instance, so a placed enemy only carries its position and its schedule.
+ */
+public class EnemyArchetype {
+
+    /** Size of the enemy, in tiles. */
+    public float width = 1;
+    public float height = 1;
+
+    /** Atlas region of the enemy, and whether it is drawn mirrored. */
+    public String sprite;
+    public boolean flipX;
+
+    /** Seconds between two shots. */
+    public float cooldown = 1;
+
+    /** How far ahead the player is noticed, in tiles. */
+    public float range = 12;
+
+    /** Horizontal speed of the bullets, negative to fire to the left. */
+    public float bulletSpeed;
+
+    /** Height of the muzzle, as a fraction of the enemy's height. */
+    public float muzzle = 0.5f;
+}
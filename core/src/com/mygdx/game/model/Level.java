@@ -4,33 +4,429 @@ package com.mygdx.game.model;
  * Created by jeffcailteux on 1/15/15.
  */
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
-public class Level {
+import java.util.Arrays;
 
-    private TiledMap map;
-    private float tileWidth;
-    private float tileHeight;
+/**
+ * The tiles and collision of a level, held as {@link LevelChunk}s of 64 columns. A level either keeps all of its
+ * chunks, or streams them from its {@link ChunkSource} through a fixed number of slots: {@link #setWindow} loads the
+ * chunks under the window right away, decodes the ones next to it on a background thread and evicts the least
+ * recently used ones, so memory stays the same however long the level is. Tiles outside of the resident chunks read
+ * as empty, and edits to a chunk are lost when it is evicted.
+ */
+public class Level implements Disposable {
+
+    /** Index of the tile layer whose cells are solid. */
+    public static final int COLLISION_LAYER = 1;
+
+    /** Slots of a streamed level. The window spans at most two chunks, prefetching adds one on either side. */
+    public static final int DEFAULT_SLOTS = 6;
+
+    /** Chunks on either side of the window that are loaded in the background. */
+    public static final int PREFETCH = 1;
+
+    private final ChunkSource source;
+    private final int width;
+    private final int height;
+    private final int chunkCount;
+
+    private final Slot[] slots;
+    /* slot holding each chunk, or -1 if the chunk is not resident */
+    private final int[] slotOfChunk;
+    private AsyncExecutor executor;
+    private int frame;
+    /* bumped whenever a tile may turn solid or clear: edits, and chunks becoming resident or evicted */
+    private int solidRevision;
 
     public Level(String tilemapName){
+        this(new TmxMapLoader().load(tilemapName));
+    }
+
+    /**
+     * A level that keeps all of the map's chunks; the map is in memory anyway.
+     */
+    public Level(TiledMap map){
+        this(new TiledMapChunkSource(map), Integer.MAX_VALUE);
+    }
+
+    public Level(ChunkSource source) {
+        this(source, DEFAULT_SLOTS);
+    }
+
+    /**
+     * @param slots the number of chunks kept in memory; with at least {@link ChunkSource#getChunkCount()} slots all
+     *              chunks are loaded right away and never evicted
+     */
+    public Level(ChunkSource source, int slots) {
+        this.source = source;
+        width = source.getWidth();
+        height = source.getHeight();
+        chunkCount = source.getChunkCount();
+
+        this.slots = new Slot[Math.min(slots, chunkCount)];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = new Slot(new LevelChunk(height, source.getLayerCount()));
+        }
+        slotOfChunk = new int[chunkCount];
+        Arrays.fill(slotOfChunk, -1);
+
+        if (this.slots.length == chunkCount) {
+            for (int i = 0; i < chunkCount; i++) {
+                load(i, i);
+            }
+        } else {
+            executor = new AsyncExecutor(1);
+        }
+    }
+
+    /**
+     * Makes the chunks under the inclusive column range [left, right] resident, blocking if needed, and streams the
+     * chunks around them. Does nothing if the level keeps all of its chunks.
+     */
+    public void setWindow(float left, float right) {
+        if (executor == null) return;
+        frame++;
+
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            if (slot.pending != null && slot.pending.isDone()) install(i);
+        }
+
+        int first = chunkAt(left);
+        int last = chunkAt(right);
+        int prefetchFirst = Math.max(0, first - PREFETCH);
+        int prefetchLast = Math.min(chunkCount - 1, last + PREFETCH);
+
+        for (int chunk = first; chunk <= last; chunk++) {
+            int slot = slotOfChunk[chunk];
+            if (slot < 0) slot = pendingSlot(chunk);
+            if (slot >= 0 && slots[slot].pending != null) {
+                install(slot);
+            } else if (slot < 0) {
+                slot = victim(first, last);
+                if (slot < 0) throw new GdxRuntimeException("Not enough chunk slots for the window");
+                // through the executor as well, so the source is never read from two threads at once
+                evict(slot);
+                request(slot, chunk);
+                install(slot);
+            }
+            slots[slot].lastUsed = frame;
+        }
 
-        map = new TmxMapLoader().load(tilemapName);
-        TiledMapTileLayer layer = (TiledMapTileLayer)map.getLayers().get(0);
-        tileWidth = layer.getTileWidth();
-        tileHeight = layer.getTileHeight();
+        for (int chunk = prefetchFirst; chunk <= prefetchLast; chunk++) {
+            if (slotOfChunk[chunk] >= 0) {
+                slots[slotOfChunk[chunk]].lastUsed = frame;
+                continue;
+            }
+            if (pendingSlot(chunk) >= 0) continue;
+            int slot = victim(prefetchFirst, prefetchLast);
+            if (slot < 0) break;
+            evict(slot);
+            request(slot, chunk);
+            slots[slot].lastUsed = frame;
+        }
+    }
+
+    private int chunkAt(float x) {
+        if (x < 0) return 0;
+        if (x >= width) return chunkCount - 1;
+        return MathUtils.floor(x) >> LevelChunk.SHIFT;
+    }
+
+    private int pendingSlot(int chunk) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].pending != null && slots[i].chunkIndex == chunk) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return a free slot, else the least recently used resident slot outside of the chunk range, or -1
+     */
+    private int victim(int first, int last) {
+        int best = -1;
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            if (slot.pending != null) continue;
+            if (slot.chunkIndex < 0) return i;
+            if (slot.chunkIndex >= first && slot.chunkIndex <= last) continue;
+            if (best < 0 || slot.lastUsed < slots[best].lastUsed) best = i;
+        }
+        return best;
+    }
+
+    private void evict(int slot) {
+        int chunk = slots[slot].chunkIndex;
+        if (chunk >= 0) slotOfChunk[chunk] = -1;
+        slots[slot].chunkIndex = -1;
+        solidRevision++;
+    }
+
+    private void load(int slot, int chunk) {
+        Slot target = slots[slot];
+        target.chunkIndex = chunk;
+        source.read(chunk, target.chunk);
+        slotOfChunk[chunk] = slot;
+        solidRevision++;
+    }
+
+    private void request(int slot, int chunk) {
+        Slot target = slots[slot];
+        target.chunkIndex = chunk;
+        target.pending = executor.submit(target);
+    }
+
+    /**
+     * Waits for the background load of the slot and makes its chunk resident.
+     */
+    private void install(int slot) {
+        Slot target = slots[slot];
+        target.pending.get();
+        target.pending = null;
+        slotOfChunk[target.chunkIndex] = slot;
+        solidRevision++;
+    }
 
+    /**
+     * @return the collision words of the chunk, or null if it is not resident
+     */
+    private long[] words(int chunk) {
+        int slot = slotOfChunk[chunk];
+        return slot < 0 ? null : slots[slot].chunk.getSolid();
     }
 
-    public TiledMap getMap() {
-        return map;
+    /**
+     * Replaces a tile of a resident chunk. On the collision layer a tile id of 0 clears the tile, anything else makes it
+     * solid.
+     */
+    public void setTile(int layer, int x, int y, int id) {
+        LevelChunk chunk = getChunkAt(x, y);
+        if (chunk == null) return;
+        chunk.setTile(layer, x & (LevelChunk.WIDTH - 1), y, id);
+        if (layer == COLLISION_LAYER) {
+            chunk.setSolid(x & (LevelChunk.WIDTH - 1), y, id != 0);
+            solidRevision++;
+        }
+    }
+
+    public void setSolid(int x, int y, boolean isSolid) {
+        LevelChunk chunk = getChunkAt(x, y);
+        if (chunk == null) return;
+        chunk.setSolid(x & (LevelChunk.WIDTH - 1), y, isSolid);
+        solidRevision++;
+    }
+
+    private LevelChunk getChunkAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return null;
+        return getChunk(x >> LevelChunk.SHIFT);
+    }
+
+    /**
+     * @return whether the tile is solid; tiles outside of the map or of the resident chunks never are
+     */
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return false;
+        long[] words = words(x >> LevelChunk.SHIFT);
+        return words != null && (words[y] & (1L << (x & 63))) != 0;
+    }
+
+    /**
+     * @return whether any tile in the inclusive rectangle [x0, x1] x [y0, y1] is solid
+     */
+    public boolean anySolid(int x0, int y0, int x1, int y1) {
+        if (x0 > x1) { int t = x0; x0 = x1; x1 = t; }
+        if (y0 > y1) { int t = y0; y0 = y1; y1 = t; }
+        if (x0 < 0) x0 = 0;
+        if (y0 < 0) y0 = 0;
+        if (x1 >= width) x1 = width - 1;
+        if (y1 >= height) y1 = height - 1;
+        if (x0 > x1 || y0 > y1) return false;
+
+        int firstBlock = x0 >> 6;
+        int lastBlock = x1 >> 6;
+        for (int block = firstBlock; block <= lastBlock; block++) {
+            long[] words = words(block);
+            if (words == null) continue;
+
+            long mask = -1L;
+            if (block == firstBlock) mask &= -1L << (x0 & 63);
+            if (block == lastBlock) mask &= -1L >>> (63 - (x1 & 63));
+
+            for (int y = y0; y <= y1; y++) {
+                if ((words[y] & mask) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Walks column x from y0 towards y1 (either direction, both inclusive).
+     *
+     * @return the y of the first solid tile, or -1 if there is none
+     */
+    public int firstSolidInColumn(int x, int y0, int y1) {
+        if (x < 0 || x >= width) return -1;
+        long[] words = words(x >> 6);
+        if (words == null) return -1;
+        long bit = 1L << (x & 63);
+
+        if (y0 <= y1) {
+            if (y0 < 0) y0 = 0;
+            if (y1 >= height) y1 = height - 1;
+            for (int y = y0; y <= y1; y++) {
+                if ((words[y] & bit) != 0) return y;
+            }
+        } else {
+            if (y0 >= height) y0 = height - 1;
+            if (y1 < 0) y1 = 0;
+            for (int y = y0; y >= y1; y--) {
+                if ((words[y] & bit) != 0) return y;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Walks row y from x0 towards x1 (either direction, both inclusive).
+     *
+     * @return the x of the first solid tile, or -1 if there is none
+     */
+    public int firstSolidInRow(int y, int x0, int x1) {
+        if (y < 0 || y >= height) return -1;
+
+        if (x0 <= x1) {
+            if (x0 < 0) x0 = 0;
+            if (x1 >= width) x1 = width - 1;
+            int lastBlock = x1 >> 6;
+            for (int block = x0 >> 6; block <= lastBlock; block++) {
+                long[] words = words(block);
+                if (words == null) continue;
+                long word = words[y];
+                if (block == x0 >> 6) word &= -1L << (x0 & 63);
+                if (block == lastBlock) word &= -1L >>> (63 - (x1 & 63));
+                if (word != 0) return (block << 6) + Long.numberOfTrailingZeros(word);
+            }
+        } else {
+            if (x0 >= width) x0 = width - 1;
+            if (x1 < 0) x1 = 0;
+            int lastBlock = x1 >> 6;
+            for (int block = x0 >> 6; block >= lastBlock; block--) {
+                long[] words = words(block);
+                if (words == null) continue;
+                long word = words[y];
+                if (block == x0 >> 6) word &= -1L >>> (63 - (x0 & 63));
+                if (block == lastBlock) word &= -1L << (x1 & 63);
+                if (word != 0) return (block << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the chunk if it is resident, else null
+     */
+    public LevelChunk getChunk(int index) {
+        if (index < 0 || index >= chunkCount) return null;
+        int slot = slotOfChunk[index];
+        return slot < 0 ? null : slots[slot].chunk;
+    }
+
+    /**
+     * @return whether chunks are loaded and evicted as the window moves; if not, all of them stay resident from the
+     *         start and only change when edited
+     */
+    public boolean isStreamed() {
+        return executor != null;
+    }
+
+    /**
+     * @return a number that changes whenever {@link #isSolid(int, int)} may answer differently for some tile, for
+     *         caches of what the solid tiles block
+     */
+    public int getSolidRevision() {
+        return solidRevision;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public ChunkSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return the objects placed in the level, e.g. spawn points
+     */
+    public Array<LevelObject> getObjects() {
+        return source.getObjects();
+    }
+
+    public TiledMapTileSets getTileSets() {
+        return source.getTileSets();
+    }
+
+    public int getLayerCount() {
+        return source.getLayerCount();
     }
 
     public float getTileHeight() {
-        return tileHeight;
+        return source.getTileHeight();
     }
 
     public float getTileWidth() {
-        return tileWidth;
+        return source.getTileWidth();
+    }
+
+    /**
+     * @return the width of the map, in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the map, in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void dispose() {
+        if (executor != null) {
+            executor.dispose();
+            executor = null;
+        }
+    }
+
+    /**
+     * A chunk in memory, and the task that fills it in the background.
+     */
+    private class Slot implements AsyncTask<Void> {
+
+        final LevelChunk chunk;
+        int chunkIndex = -1;
+        int lastUsed;
+        AsyncResult<Void> pending;
+
+        Slot(LevelChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public Void call() {
+            source.read(chunkIndex, chunk);
+            return null;
+        }
     }
 }
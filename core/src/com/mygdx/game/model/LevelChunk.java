@@ -0,0 +1,103 @@
+package com.mygdx.game.model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-width vertical slice of a level: the tile ids of every layer and the collision bits of its columns. A chunk
+ * is 64 columns wide, so each row of its collision bits is exactly one word.
+ */
+public class LevelChunk {
+
+    /** Columns per chunk; one bit per column in a collision word. */
+    public static final int WIDTH = 64;
+    public static final int SHIFT = 6;
+
+    private final int height;
+    private final int layerCount;
+
+    private int index = -1;
+
+    /* tile ids, 0 for no tile: layer by layer, row by row, WIDTH ids per row */
+    private final int[] tiles;
+
+    /* bit (x & 63) of word y is set if tile x of row y is solid */
+    private final long[] solid;
+
+    /* bumped on every edit, so caches of the chunk know when to rebuild */
+    private int revision;
+
+    public LevelChunk(int height, int layerCount) {
+        this.height = height;
+        this.layerCount = layerCount;
+        tiles = new int[layerCount * height * WIDTH];
+        solid = new long[height];
+    }
+
+    /**
+     * Resets the chunk to hold the given chunk index with no tiles, before a {@link ChunkSource} fills it.
+     */
+    public void reset(int index) {
+        this.index = index;
+        Arrays.fill(tiles, 0);
+        Arrays.fill(solid, 0);
+        revision++;
+    }
+
+    /**
+     * @param x column within the chunk
+     */
+    public int getTile(int layer, int x, int y) {
+        return tiles[(layer * height + y) * WIDTH + x];
+    }
+
+    public void setTile(int layer, int x, int y, int id) {
+        tiles[(layer * height + y) * WIDTH + x] = id;
+        revision++;
+    }
+
+    public void setSolid(int x, int y, boolean isSolid) {
+        if (isSolid) {
+            solid[y] |= 1L << x;
+        } else {
+            solid[y] &= ~(1L << x);
+        }
+        revision++;
+    }
+
+    /**
+     * @return the tile ids, see {@link #getTile(int, int, int)} for the layout
+     */
+    public int[] getTiles() {
+        return tiles;
+    }
+
+    /**
+     * @return one collision word per row
+     */
+    public long[] getSolid() {
+        return solid;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the first column of the chunk in the level
+     */
+    public int getX() {
+        return index << SHIFT;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getLayerCount() {
+        return layerCount;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+}
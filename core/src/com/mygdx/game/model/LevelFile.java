@@ -0,0 +1,243 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * A level compiled into chunks (.lvl) by the desktop LevelCompiler. Only the header is read up front, so opening a
+ * level takes the same time whatever its length; chunks are read one at a time by the subclass, either from a
+ * stream ({@link StreamLevelFile}) or from memory mapped by the platform. All values are big endian:
+ *
+ * <pre>
+ * int    magic, version
+ * int    data offset       byte offset of the first chunk
+ * int    header checksum   FNV-1a of the bytes from here to the data offset
+ * int    width, height     in tiles
+ * int    tileWidth, tileHeight  in pixels
+ * int    layerCount, chunkCount
+ * UTF    tileset image     relative to the level file
+ * int    firstId, spacing, margin
+ * int    objectCount, then per object: UTF type, UTF name, float x, y, width, height in tiles
+ * chunks chunkCount times:
+ *        int[layerCount x height x 64] tile ids, row by row
+ *        long[height]      collision words, bit x of word y is set if tile x of row y is solid
+ *        int               {@link #checksum(int[], long[])} of the chunk
+ * </pre>
+ *
+ * Columns past the width of the level are empty in the last chunk.
+ */
+public abstract class LevelFile implements ChunkSource {
+
+    public static final int MAGIC = 0x4C564C43;
+    public static final int VERSION = 2;
+
+    /** Size of the fields before the checksummed part of the header. */
+    public static final int PREAMBLE_SIZE = 16;
+
+    public static final int FNV_BASIS = 0x811C9DC5;
+    public static final int FNV_PRIME = 0x01000193;
+
+    /** Creates the reader for a level file; lets a platform pick a faster one than {@link #STREAM}. */
+    public interface Opener {
+        LevelFile open(FileHandle file);
+    }
+
+    public static final Opener STREAM = new Opener() {
+        @Override
+        public LevelFile open(FileHandle file) {
+            return new StreamLevelFile(file);
+        }
+    };
+
+    protected final FileHandle file;
+
+    private int dataOffset;
+    private int width;
+    private int height;
+    private int tileWidth;
+    private int tileHeight;
+    private int layerCount;
+    private int chunkCount;
+    private String tilesetImage;
+    private int firstId;
+    private int spacing;
+    private int margin;
+    private final Array<LevelObject> objects = new Array<LevelObject>();
+
+    private TiledMapTileSets tileSets;
+
+    protected LevelFile(FileHandle file) {
+        this.file = file;
+
+        DataInputStream in = new DataInputStream(file.read(512));
+        try {
+            if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a level file: " + file);
+            int version = in.readInt();
+            if (version != VERSION) throw new GdxRuntimeException("Unsupported level version " + version + ": " + file);
+            dataOffset = in.readInt();
+            int checksum = in.readInt();
+
+            byte[] header = new byte[dataOffset - PREAMBLE_SIZE];
+            in.readFully(header);
+            if (checksum(FNV_BASIS, header, 0, header.length) != checksum) {
+                throw new GdxRuntimeException("Level header is corrupt: " + file);
+            }
+            readHeader(new DataInputStream(new ByteArrayInputStream(header)));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read level " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    private void readHeader(DataInputStream in) throws IOException {
+        width = in.readInt();
+        height = in.readInt();
+        tileWidth = in.readInt();
+        tileHeight = in.readInt();
+        layerCount = in.readInt();
+        chunkCount = in.readInt();
+        tilesetImage = in.readUTF();
+        firstId = in.readInt();
+        spacing = in.readInt();
+        margin = in.readInt();
+
+        int objectCount = in.readInt();
+        for (int i = 0; i < objectCount; i++) {
+            objects.add(new LevelObject(in.readUTF(), in.readUTF(), in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat()));
+        }
+    }
+
+    /**
+     * Cuts the tileset image into tiles, numbered from the first id of the tileset the same way TmxMapLoader does. Must
+     * be called before the level is rendered.
+     */
+    public void setTileset(Texture texture) {
+        TiledMapTileSet tileSet = new TiledMapTileSet();
+        int id = firstId;
+        for (int y = margin; y <= texture.getHeight() - tileHeight; y += tileHeight + spacing) {
+            for (int x = margin; x <= texture.getWidth() - tileWidth; x += tileWidth + spacing) {
+                StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tileWidth, tileHeight));
+                tile.setId(id);
+                tileSet.putTile(id++, tile);
+            }
+        }
+        tileSets = new TiledMapTileSets();
+        tileSets.addTileSet(tileSet);
+    }
+
+    @Override
+    public void read(int index, LevelChunk chunk) {
+        chunk.reset(index);
+        int[] tiles = chunk.getTiles();
+        long[] solid = chunk.getSolid();
+        int checksum;
+        try {
+            checksum = readChunk(dataOffset + (long)index * getChunkSize(), tiles, solid);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read chunk " + index + " of " + file, e);
+        }
+        if (checksum(tiles, solid) != checksum) throw new GdxRuntimeException("Chunk " + index + " is corrupt: " + file);
+    }
+
+    /**
+     * Reads the tile ids and the collision words of the chunk at the byte offset. Called by one thread at a time.
+     *
+     * @return the checksum stored after the chunk
+     */
+    protected abstract int readChunk(long offset, int[] tiles, long[] solid) throws IOException;
+
+    /**
+     * @return the size of a chunk in the file, in bytes
+     */
+    public int getChunkSize() {
+        return layerCount * height * LevelChunk.WIDTH * 4 + height * 8 + 4;
+    }
+
+    /**
+     * FNV-1a over bytes, seeded with {@code hash}; {@link #FNV_BASIS} starts a new checksum.
+     */
+    public static int checksum(int hash, byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * FNV-1a over the 32 bit words of a chunk, so every reader can check the decoded arrays instead of the raw bytes.
+     */
+    public static int checksum(int[] tiles, long[] solid) {
+        int hash = FNV_BASIS;
+        for (int i = 0; i < tiles.length; i++) {
+            hash = (hash ^ tiles[i]) * FNV_PRIME;
+        }
+        for (int i = 0; i < solid.length; i++) {
+            hash = (hash ^ (int)(solid[i] >>> 32)) * FNV_PRIME;
+            hash = (hash ^ (int)solid[i]) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @return the tileset image, resolved against the level file
+     */
+    public FileHandle getTilesetFile() {
+        return file.parent().child(tilesetImage);
+    }
+
+    public FileHandle getFile() {
+        return file;
+    }
+
+    @Override
+    public Array<LevelObject> getObjects() {
+        return objects;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getLayerCount() {
+        return layerCount;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public float getTileWidth() {
+        return tileWidth;
+    }
+
+    @Override
+    public float getTileHeight() {
+        return tileHeight;
+    }
+
+    @Override
+    public TiledMapTileSets getTileSets() {
+        return tileSets;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads the header of a {@link LevelFile} off the render thread and its tileset texture as a dependency. The chunks
+ * are streamed later by the {@link Level}.
+ */
+public class LevelFileLoader extends AsynchronousAssetLoader<LevelFile, LevelFileLoader.LevelFileParameter> {
+
+    public static class LevelFileParameter extends AssetLoaderParameters<LevelFile> {
+    }
+
+    private final LevelFile.Opener opener;
+    private LevelFile levelFile;
+    private AssetDescriptor<Texture> tileset;
+
+    /**
+     * @param opener creates the reader of the file, e.g. {@link LevelFile#STREAM}
+     */
+    public LevelFileLoader(FileHandleResolver resolver, LevelFile.Opener opener) {
+        super(resolver);
+        this.opener = opener;
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, LevelFileParameter parameter) {
+        levelFile = opener.open(file);
+        tileset = new AssetDescriptor<Texture>(levelFile.getTilesetFile(), Texture.class);
+        Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+        dependencies.add(tileset);
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, LevelFileParameter parameter) {
+    }
+
+    @Override
+    public LevelFile loadSync(AssetManager manager, String fileName, FileHandle file, LevelFileParameter parameter) {
+        LevelFile result = levelFile;
+        levelFile = null;
+        result.setTileset(manager.get(tileset));
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mygdx.game.model;
+
+/**
+ * An object placed in the level editor, e.g. a spawn point. Positions and sizes are in tiles, with y pointing up like
+ * the rest of the level.
+ */
+public class LevelObject {
+
+    private final String type;
+    private final String name;
+    private final float x;
+    private final float y;
+    private final float width;
+    private final float height;
+
+    public LevelObject(String type, String name, float x, float y, float width, float height) {
+        this.type = type;
+        this.name = name;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the type set in the editor, or an empty string
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the name set in the editor, or an empty string
+     */
+    public String getName() {
+        return name;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+}
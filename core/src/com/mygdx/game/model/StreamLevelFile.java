@@ -0,0 +1,49 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Reads chunks by skipping through a fresh stream of the file. Works on every backend, including Android assets and
+ * the html preloader.
+ */
+public class StreamLevelFile extends LevelFile {
+
+    private final byte[] buffer;
+
+    public StreamLevelFile(FileHandle file) {
+        super(file);
+        buffer = new byte[getChunkSize()];
+    }
+
+    @Override
+    protected int readChunk(long offset, int[] tiles, long[] solid) throws IOException {
+        DataInputStream in = new DataInputStream(file.read(8192));
+        try {
+            while (offset > 0) {
+                long skipped = in.skip(offset);
+                if (skipped <= 0) throw new IOException("Unexpected end of file");
+                offset -= skipped;
+            }
+            in.readFully(buffer);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+
+        int b = 0;
+        for (int i = 0; i < tiles.length; i++, b += 4) {
+            tiles[i] = readInt(b);
+        }
+        for (int i = 0; i < solid.length; i++, b += 8) {
+            solid[i] = (long)readInt(b) << 32 | readInt(b + 4) & 0xFFFFFFFFL;
+        }
+        return readInt(b);
+    }
+
+    private int readInt(int b) {
+        return (buffer[b] & 0xFF) << 24 | (buffer[b + 1] & 0xFF) << 16 | (buffer[b + 2] & 0xFF) << 8 | buffer[b + 3] & 0xFF;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mygdx.game.model;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.math.Ellipse;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Chunks cut from a {@link TiledMap} that is already in memory, e.g. one loaded from a .tmx file. The tile layers of
+ * the map, in order, are the layers of the chunks; the cells of {@link Level#COLLISION_LAYER} are solid.
+ */
+public class TiledMapChunkSource implements ChunkSource {
+
+    private final TiledMap map;
+    private final TiledMapTileLayer[] layers;
+    private final int width;
+    private final int height;
+    private final Array<LevelObject> objects;
+
+    public TiledMapChunkSource(TiledMap map) {
+        this.map = map;
+
+        Array<TiledMapTileLayer> tileLayers = map.getLayers().getByType(TiledMapTileLayer.class);
+        layers = tileLayers.toArray(TiledMapTileLayer.class);
+        width = layers[Level.COLLISION_LAYER].getWidth();
+        height = layers[Level.COLLISION_LAYER].getHeight();
+
+        objects = new Array<LevelObject>();
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) continue;
+            for (MapObject object : layer.getObjects()) {
+                objects.add(levelObject(object));
+            }
+        }
+    }
+
+    /**
+     * Converts the pixel bounds of an object to tiles. TmxMapLoader only puts the position in the properties of an
+     * object, the size is in its shape; tile objects are loaded as rectangles with a "gid" property. Polygons and
+     * polylines get no size.
+     */
+    private LevelObject levelObject(MapObject object) {
+        MapProperties properties = object.getProperties();
+        float tileWidth = getTileWidth();
+        float tileHeight = getTileHeight();
+        float x = properties.get("x", 0f, Float.class);
+        float y = properties.get("y", 0f, Float.class);
+        float objectWidth = 0;
+        float objectHeight = 0;
+        if (object instanceof RectangleMapObject) {
+            Rectangle rectangle = ((RectangleMapObject)object).getRectangle();
+            objectWidth = rectangle.width;
+            objectHeight = rectangle.height;
+        } else if (object instanceof EllipseMapObject) {
+            Ellipse ellipse = ((EllipseMapObject)object).getEllipse();
+            objectWidth = ellipse.width;
+            objectHeight = ellipse.height;
+        }
+        // tile objects are anchored at their bottom in tiled, the loader treats them like rectangles anchored at the top
+        if (properties.containsKey("gid")) y += objectHeight;
+
+        String name = object.getName();
+        return new LevelObject(properties.get("type", "", String.class), name == null ? "" : name, x / tileWidth,
+                y / tileHeight, objectWidth / tileWidth, objectHeight / tileHeight);
+    }
+
+    @Override
+    public void read(int index, LevelChunk chunk) {
+        chunk.reset(index);
+        int x0 = index << LevelChunk.SHIFT;
+        int columns = Math.min(LevelChunk.WIDTH, width - x0);
+
+        for (int layer = 0; layer < layers.length; layer++) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < columns; x++) {
+                    Cell cell = layers[layer].getCell(x0 + x, y);
+                    if (cell == null) continue;
+                    chunk.setTile(layer, x, y, cell.getTile().getId());
+                    if (layer == Level.COLLISION_LAYER) chunk.setSolid(x, y, true);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getLayerCount() {
+        return layers.length;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return (width + LevelChunk.WIDTH - 1) >> LevelChunk.SHIFT;
+    }
+
+    @Override
+    public float getTileWidth() {
+        return layers[0].getTileWidth();
+    }
+
+    @Override
+    public float getTileHeight() {
+        return layers[0].getTileHeight();
+    }
+
+    @Override
+    public TiledMapTileSets getTileSets() {
+        return map.getTileSets();
+    }
+
+    @Override
+    public Array<LevelObject> getObjects() {
+        return objects;
+    }
+
+    public TiledMap getMap() {
+        return map;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mygdx.game.physics;
+
+import com.badlogic.gdx.utils.NumberUtils;
+
+import java.util.Arrays;
+
+/**
+ * Ids sorted by an x coordinate, for range queries along x by binary search. Meant for things that don't move, like
+ * placed enemies: ids added in order of x stay sorted as they come, anything else is sorted once before the next
+ * query. Every entry is a single long (the x as sortable bits above the id), so sorting is a primitive sort.
+ */
+public class AxisIndex {
+
+    private long[] keys = new long[16];
+    private int size;
+    private boolean sorted = true;
+
+    public void add(int id, float x) {
+        if (size == keys.length) {
+            long[] grown = new long[size * 2];
+            System.arraycopy(keys, 0, grown, 0, size);
+            keys = grown;
+        }
+        long key = key(x, id);
+        if (size > 0 && key < keys[size - 1]) sorted = false;
+        keys[size++] = key;
+    }
+
+    public void clear() {
+        size = 0;
+        sorted = true;
+    }
+
+    /**
+     * @return the position of the first entry with an x of at least the given one, or {@link #size()}
+     */
+    public int lowerBound(float x) {
+        return search(key(x, 0));
+    }
+
+    /**
+     * @return the position of the first entry with an x above the given one, or {@link #size()}
+     */
+    public int upperBound(float x) {
+        long key = key(x, -1);
+        return key == Long.MAX_VALUE ? size : search(key + 1);
+    }
+
+    /* first position whose key is at least the given one */
+    private int search(long key) {
+        if (!sorted) {
+            Arrays.sort(keys, 0, size);
+            sorted = true;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /* float bits ordered like the floats, negative ones included, then the id as unsigned */
+    private static long key(float x, int id) {
+        int bits = NumberUtils.floatToIntBits(x);
+        bits ^= (bits >> 31) & 0x7FFFFFFF;
+        return (long)bits << 32 | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the id at the position, in order of x
+     */
+    public int getId(int position) {
+        return (int)keys[position];
+    }
+
+    public int size() {
+        return size;
+    }
+}
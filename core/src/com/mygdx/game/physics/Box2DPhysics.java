@@ -0,0 +1,234 @@
+package com.mygdx.game.physics;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.VelocityComponent;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelChunk;
+
+/**
+ * Runs the bodies in a Box2D world, one tile per meter. Every resident chunk of the level becomes a static body whose
+ * fixtures are the solid tiles merged into rectangles (runs of a row, stacked while the runs below are the same);
+ * a chunk is rebuilt when it is edited or evicted. Bodies are fixed rotation boxes that only collide with the level,
+ * like in {@link TilePhysics}. Gravity and damping stay with the systems: Box2D only integrates and resolves contacts.
+ */
+public class Box2DPhysics implements PhysicsBackend {
+
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
+
+    /* how far an entity may be from its body before it counts as moved by someone else, in tiles */
+    private static final float EPSILON = 0.001f;
+
+    private static final short LEVEL = 1;
+    private static final short BODY = 2;
+
+    /* TilePhysics moves bodies vertically twice per tick and jumps are tuned to it, so the same is asked of Box2D */
+    private static final float VERTICAL_SCALE = 2;
+
+    private final Level level;
+    private final World world;
+
+    /* per chunk index: static body of the chunk, and the chunk and revision it was built from */
+    private final Body[] chunkBodies;
+    private final LevelChunk[] builtChunks;
+    private final int[] builtRevisions;
+
+    /* positions of the bodies at the start of the tick, to spot the ones moved between the phases */
+    private final FloatArray startX = new FloatArray();
+    private final FloatArray startY = new FloatArray();
+
+    private final IntArray rects = new IntArray();
+    private final BodyDef bodyDef = new BodyDef();
+    private final FixtureDef fixtureDef = new FixtureDef();
+    private final PolygonShape box;
+    private final Vector2 center = new Vector2();
+
+    public Box2DPhysics(Level level) {
+        this.level = level;
+        // creating the world loads the natives, so it goes first
+        world = new World(new Vector2(), true);
+        box = new PolygonShape();
+        chunkBodies = new Body[level.getChunkCount()];
+        builtChunks = new LevelChunk[level.getChunkCount()];
+        builtRevisions = new int[level.getChunkCount()];
+        fixtureDef.shape = box;
+        fixtureDef.friction = 0;
+        fixtureDef.density = 1;
+    }
+
+    @Override
+    public void add(Entity entity) {
+        Vector2 position = Mappers.position.get(entity).position;
+        ColliderComponent collider = Mappers.collider.get(entity);
+
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        bodyDef.fixedRotation = true;
+        bodyDef.gravityScale = 0;
+        bodyDef.position.set(position.x + collider.width / 2, position.y + collider.height / 2);
+        Body body = world.createBody(bodyDef);
+        body.setUserData(entity);
+
+        box.setAsBox(collider.width / 2, collider.height / 2);
+        fixtureDef.filter.categoryBits = BODY;
+        fixtureDef.filter.maskBits = LEVEL;
+        body.createFixture(fixtureDef);
+        collider.body = body;
+    }
+
+    @Override
+    public void remove(Entity entity) {
+        ColliderComponent collider = Mappers.collider.get(entity);
+        if (collider.body == null) return;
+        world.destroyBody(collider.body);
+        collider.body = null;
+    }
+
+    @Override
+    public void resolve(ImmutableArray<Entity> bodies, float delta) {
+        syncLevel();
+
+        startX.clear();
+        startY.clear();
+        for (int i = 0; i < bodies.size(); i++) {
+            Entity entity = bodies.get(i);
+            Vector2 position = Mappers.position.get(entity).position;
+            Vector2 velocity = Mappers.velocity.get(entity).velocity;
+            ColliderComponent collider = Mappers.collider.get(entity);
+            Body body = collider.body;
+
+            // the body stays where the last tick left it unless something moved the entity since
+            Vector2 center = body.getPosition();
+            float x = position.x + collider.width / 2;
+            float y = position.y + collider.height / 2;
+            if (Math.abs(center.x - x) > EPSILON || Math.abs(center.y - y) > EPSILON) body.setTransform(x, y, 0);
+            body.setLinearVelocity(velocity.x, velocity.y * VERTICAL_SCALE);
+            body.setAwake(true);
+
+            startX.add(position.x);
+            startY.add(position.y);
+        }
+
+        world.step(delta, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+
+        for (int i = 0; i < bodies.size(); i++) {
+            Entity entity = bodies.get(i);
+            ColliderComponent collider = Mappers.collider.get(entity);
+            Vector2 center = collider.body.getPosition();
+            collider.sweep.set(center.x - collider.width / 2, center.y - collider.height / 2, collider.width, collider.height);
+        }
+    }
+
+    @Override
+    public void apply(ImmutableArray<Entity> bodies, float delta) {
+        for (int i = 0; i < bodies.size(); i++) {
+            Entity entity = bodies.get(i);
+            Vector2 position = Mappers.position.get(entity).position;
+            VelocityComponent velocity = Mappers.velocity.get(entity);
+            ColliderComponent collider = Mappers.collider.get(entity);
+            Body body = collider.body;
+
+            // respawned between the phases: keep the new position, resolve() moves the body next tick
+            if (position.x != startX.get(i) || position.y != startY.get(i)) continue;
+
+            float wantedY = velocity.velocity.y * VERTICAL_SCALE;
+            Vector2 bodyVelocity = body.getLinearVelocity();
+            // stopped while falling: landed
+            if (wantedY < 0 && bodyVelocity.y > wantedY / 2) collider.grounded = true;
+
+            position.set(collider.sweep.x, collider.sweep.y);
+            velocity.velocity.set(bodyVelocity.x * velocity.damping, bodyVelocity.y / VERTICAL_SCALE);
+        }
+    }
+
+    /**
+     * Rebuilds the static bodies of the chunks that were loaded, edited or evicted since the last tick.
+     */
+    private void syncLevel() {
+        for (int index = 0; index < chunkBodies.length; index++) {
+            LevelChunk chunk = level.getChunk(index);
+            if (chunk == builtChunks[index] && (chunk == null || chunk.getRevision() == builtRevisions[index])) continue;
+
+            if (chunkBodies[index] != null) {
+                world.destroyBody(chunkBodies[index]);
+                chunkBodies[index] = null;
+            }
+            builtChunks[index] = chunk;
+            if (chunk == null) continue;
+            builtRevisions[index] = chunk.getRevision();
+            chunkBodies[index] = buildChunk(chunk);
+        }
+    }
+
+    private Body buildChunk(LevelChunk chunk) {
+        // rectangles as x0, x1, y0, y1 quadruples, x1 and y1 exclusive
+        rects.clear();
+        long[] solid = chunk.getSolid();
+        for (int y = 0; y < solid.length; y++) {
+            long word = solid[y];
+            while (word != 0) {
+                int x0 = Long.numberOfTrailingZeros(word);
+                int x1 = x0 + Long.numberOfTrailingZeros(~(word >>> x0));
+                word = x1 == LevelChunk.WIDTH ? 0 : word & (-1L << x1);
+                extend(x0, x1, y);
+            }
+        }
+
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        bodyDef.position.set(chunk.getX(), 0);
+        Body body = world.createBody(bodyDef);
+        fixtureDef.filter.categoryBits = LEVEL;
+        fixtureDef.filter.maskBits = BODY;
+        for (int i = 0; i < rects.size; i += 4) {
+            float width = rects.get(i + 1) - rects.get(i);
+            float height = rects.get(i + 3) - rects.get(i + 2);
+            center.set(rects.get(i) + width / 2, rects.get(i + 2) + height / 2);
+            box.setAsBox(width / 2, height / 2, center, 0);
+            body.createFixture(fixtureDef);
+        }
+        return body;
+    }
+
+    /**
+     * Grows the rectangle ending right below the run by a row, or starts a new one.
+     */
+    private void extend(int x0, int x1, int y) {
+        for (int i = 0; i < rects.size; i += 4) {
+            if (rects.get(i) == x0 && rects.get(i + 1) == x1 && rects.get(i + 3) == y) {
+                rects.set(i + 3, y + 1);
+                return;
+            }
+        }
+        rects.add(x0);
+        rects.add(x1);
+        rects.add(y);
+        rects.add(y + 1);
+    }
+
+    /**
+     * @return the number of fixtures of the level's static bodies
+     */
+    public int getLevelFixtureCount() {
+        int count = 0;
+        for (Body body : chunkBodies) {
+            if (body != null) count += body.getFixtureList().size;
+        }
+        return count;
+    }
+
+    @Override
+    public void dispose() {
+        box.dispose();
+        world.dispose();
+    }
+}
@@ -0,0 +1,57 @@
+package com.mygdx.game.physics;
+
+import com.mygdx.game.model.Level;
+
+/**
+ * Straight lines between tiles against the solid tiles of a level. Walks the tiles the line between the centers of two
+ * tiles passes through, in the order it enters them (Amanatides and Woo, in integers since the ends are tile centers),
+ * and stops at the first solid one. The cost grows with the distance; nothing is allocated and nothing is kept, so
+ * several threads may trace at once.
+ */
+public class LineOfSight {
+
+    private final Level level;
+
+    public LineOfSight(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * A line passing exactly through the corner of four tiles is blocked if either of the two tiles it squeezes
+     * between is solid.
+     *
+     * @return whether none of the tiles between the two, both ends excluded, is solid
+     */
+    public boolean isClear(int fromX, int fromY, int toX, int toY) {
+        int dx = Math.abs(toX - fromX);
+        int dy = Math.abs(toY - fromY);
+        int stepX = toX > fromX ? 1 : -1;
+        int stepY = toY > fromY ? 1 : -1;
+
+        // the line crosses its i-th column boundary at (2i + 1) / 2dx of the way and its i-th row boundary at
+        // (2i + 1) / 2dy; both sides multiplied by 2dx * dy to compare them exactly
+        int x = fromX;
+        int y = fromY;
+        int crossedX = 0;
+        int crossedY = 0;
+        while (crossedX < dx || crossedY < dy) {
+            int nextX = crossedX < dx ? (2 * crossedX + 1) * dy : Integer.MAX_VALUE;
+            int nextY = crossedY < dy ? (2 * crossedY + 1) * dx : Integer.MAX_VALUE;
+            if (nextX < nextY) {
+                x += stepX;
+                crossedX++;
+            } else if (nextY < nextX) {
+                y += stepY;
+                crossedY++;
+            } else {
+                if (level.isSolid(x + stepX, y) || level.isSolid(x, y + stepY)) return false;
+                x += stepX;
+                y += stepY;
+                crossedX++;
+                crossedY++;
+            }
+            if ((x != toX || y != toY) && level.isSolid(x, y)) return false;
+        }
+        return true;
+    }
+}
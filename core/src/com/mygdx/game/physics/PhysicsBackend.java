@@ -0,0 +1,32 @@
+package com.mygdx.game.physics;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Moves the bodies of the world, entities with a position, a velocity and a collider, against the solid tiles of the
+ * level. A tick is resolved in two phases so the hit tests can run in between: {@link #resolve} finds where every body
+ * ends up and {@link #apply} moves it there. Velocities are in tiles per second before and after a tick; gravity and
+ * input are applied to them by the systems before {@link #resolve}.
+ */
+public interface PhysicsBackend extends Disposable {
+
+    /**
+     * Called when a body enters the world, before its first tick.
+     */
+    void add(Entity body);
+
+    void remove(Entity body);
+
+    /**
+     * Resolves the movement of the tick. Afterwards the sweep of every collider holds the box the body moves into.
+     */
+    void resolve(ImmutableArray<Entity> bodies, float delta);
+
+    /**
+     * Moves the bodies to their resolved positions and damps their velocities. A body whose position was set since
+     * {@link #resolve} (a respawn) keeps that position.
+     */
+    void apply(ImmutableArray<Entity> bodies, float delta);
+}
@@ -0,0 +1,183 @@
+package com.mygdx.game.physics;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase over a tile map. Entries are small integer ids (usually the index of the entity in its
+ * list), bucketed by the cell their anchor point (bottom left corner) falls into. Every cell holds an intrusive doubly
+ * linked list threaded through per-id arrays, so insert, move and remove are O(1) and never allocate once the arrays
+ * have grown to the largest id. Positions outside of the map are clamped to the border cells.
+ *
+ * A query returns every id anchored in a cell touching the query box; callers expand the box by the size of the
+ * entities they look for and do the exact overlap test themselves.
+ */
+public class SpatialGrid {
+
+    private static final int NONE = -1;
+
+    private final int shift;
+    private final int columns;
+    private final int rows;
+
+    /* first id of every cell */
+    private final int[] head;
+
+    /* per id: cell it is linked into (NONE if not in the grid), neighbours in that cell's list */
+    private int[] cellOf;
+    private int[] next;
+    private int[] prev;
+
+    /**
+     * @param width width of the covered area, in tiles
+     * @param height height of the covered area, in tiles
+     * @param cellShift cells are (1 << cellShift) tiles wide and high
+     */
+    public SpatialGrid(int width, int height, int cellShift) {
+        shift = cellShift;
+        int cellSize = 1 << cellShift;
+        columns = Math.max(1, (width + cellSize - 1) >> cellShift);
+        rows = Math.max(1, (height + cellSize - 1) >> cellShift);
+
+        head = new int[columns * rows];
+        Arrays.fill(head, NONE);
+
+        cellOf = new int[0];
+        next = new int[0];
+        prev = new int[0];
+        ensureCapacity(64);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= cellOf.length) return;
+        int size = Math.max(capacity, cellOf.length * 2);
+        int oldSize = cellOf.length;
+        cellOf = copy(cellOf, size);
+        next = copy(next, size);
+        prev = copy(prev, size);
+        Arrays.fill(cellOf, oldSize, size, NONE);
+    }
+
+    private static int[] copy(int[] array, int size) {
+        int[] copy = new int[size];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+
+    private int column(float x) {
+        int column = MathUtils.floor(x) >> shift;
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    private int row(float y) {
+        int row = MathUtils.floor(y) >> shift;
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    private void link(int id, int cell) {
+        int first = head[cell];
+        cellOf[id] = cell;
+        prev[id] = NONE;
+        next[id] = first;
+        if (first != NONE) prev[first] = id;
+        head[cell] = id;
+    }
+
+    private void unlink(int id) {
+        int cell = cellOf[id];
+        int before = prev[id];
+        int after = next[id];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            head[cell] = after;
+        }
+        if (after != NONE) prev[after] = before;
+        cellOf[id] = NONE;
+    }
+
+    public void insert(int id, float x, float y) {
+        ensureCapacity(id + 1);
+        if (cellOf[id] != NONE) unlink(id);
+        link(id, row(y) * columns + column(x));
+    }
+
+    /**
+     * Updates the anchor of an id that is in the grid. Only relinks when the id changes cells.
+     */
+    public void move(int id, float x, float y) {
+        int cell = row(y) * columns + column(x);
+        if (cell == cellOf[id]) return;
+        unlink(id);
+        link(id, cell);
+    }
+
+    public void remove(int id) {
+        if (id < cellOf.length && cellOf[id] != NONE) unlink(id);
+    }
+
+    /**
+     * Gives the entry of id from the id to, which must not be in the grid. Used when an entity is moved to another
+     * slot of its list, e.g. by a swap-remove.
+     */
+    public void relabel(int from, int to) {
+        ensureCapacity(to + 1);
+        int cell = cellOf[from];
+        int before = prev[from];
+        int after = next[from];
+
+        cellOf[to] = cell;
+        prev[to] = before;
+        next[to] = after;
+        if (before != NONE) {
+            next[before] = to;
+        } else {
+            head[cell] = to;
+        }
+        if (after != NONE) prev[after] = to;
+        cellOf[from] = NONE;
+    }
+
+    public void clear() {
+        Arrays.fill(head, NONE);
+        Arrays.fill(cellOf, NONE);
+    }
+
+    /**
+     * Collects the ids anchored in every cell touching the inclusive tile box [x0, x1] x [y0, y1].
+     *
+     * @param out cleared, then filled with the ids
+     * @return the number of ids found
+     */
+    public int query(int x0, int y0, int x1, int y1, IntArray out) {
+        out.clear();
+        int firstColumn = column(x0);
+        int lastColumn = column(x1);
+        int lastRow = row(y1);
+        for (int row = row(y0); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                for (int id = head[row * columns + column]; id != NONE; id = next[id]) {
+                    out.add(id);
+                }
+            }
+        }
+        return out.size;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the width and height of a cell, in tiles
+     */
+    public int getCellSize() {
+        return 1 << shift;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mygdx.game.physics;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.VelocityComponent;
+import com.mygdx.game.model.Level;
+
+/**
+ * The game's own integrator: moves boxes one axis at a time and stops them at the solid tiles around their edges,
+ * straight from the collision words of the level. Bodies don't collide with each other. Between the two phases the
+ * velocity holds the displacement of the tick.
+ *
+ * Probing the tiles at the far edge only works while a tick moves a box by a tile at most. Longer moves (low tick
+ * rates, long falls) are swept through the grid instead and slide along what they hit, so nothing tunnels through
+ * thin walls.
+ */
+public class TilePhysics implements PhysicsBackend {
+
+    /* the vertical velocity is applied twice per tick, see apply() */
+    private static final float VERTICAL_SCALE = 2;
+
+    /* a box stops on at most one wall and one floor or ceiling per tick, the third sweep only finishes the move */
+    private static final int MAX_SWEEPS = 3;
+
+    private final Level level;
+    private final TileSweep sweep;
+
+    public TilePhysics(Level level) {
+        this.level = level;
+        sweep = new TileSweep(level);
+    }
+
+    @Override
+    public void add(Entity body) {
+    }
+
+    @Override
+    public void remove(Entity body) {
+    }
+
+    @Override
+    public void resolve(ImmutableArray<Entity> bodies, float delta) {
+        for (int i = 0; i < bodies.size(); i++) {
+            Entity entity = bodies.get(i);
+            collide(Mappers.position.get(entity).position, Mappers.velocity.get(entity).velocity, Mappers.collider.get(entity), delta);
+        }
+    }
+
+    private void collide(Vector2 position, Vector2 velocity, ColliderComponent collider, float delta) {
+        velocity.scl(delta);
+
+        if (Math.abs(velocity.x) > 1 || Math.abs(velocity.y * VERTICAL_SCALE) > 1) {
+            sweep(position, velocity, collider);
+            return;
+        }
+
+        // perform collision detection & response, on each axis, separately
+        // if the koala is moving right, check the tiles to the right of it's
+        // right bounding box edge, otherwise check the ones to the left
+        float x = position.x;
+        float y = position.y;
+        float width = collider.width;
+        float height = collider.height;
+
+        int startX, startY, endX, endY;
+        if (velocity.x > 0) {
+            startX = endX = (int)(x + width + velocity.x);
+        } else {
+            startX = endX = (int)(x + velocity.x);
+        }
+
+        // the rows the box actually overlaps
+        startY = (int)y;
+        endY = lastCell(y + height);
+
+        if (level.anySolid(startX, startY, endX, endY)) {
+            velocity.x = 0;
+        }
+
+        // if the koala is moving upwards, check the tiles to the top of it's
+        // top bounding box edge, otherwise check the ones to the bottom
+        if (velocity.y > 0) {
+            startY = endY = (int)(y + height + velocity.y);
+        } else {
+            startY = endY = (int)(y + velocity.y);
+        }
+
+        startX = (int)x;
+        endX = lastCell(x + width);
+        float movedY = y + velocity.y;
+        if (level.anySolid(startX, startY, endX, endY)) {
+            // we actually reset the koala y-position here
+            // so it is just below/above the tile we collided with
+            // this removes bouncing :)
+            if (velocity.y > 0) {
+                // we hit a block jumping upwards, let's destroy it!
+                //					level.setTile(Level.COLLISION_LAYER, level.firstSolidInRow(startY, startX, endX), startY, 0);
+            } else {
+                position.y = startY + 1;
+                // if we hit the ground, mark us as grounded so we can jump
+                collider.grounded = true;
+            }
+            velocity.y = 0;
+        }
+
+        collider.sweep.set(x, movedY, width, height);
+    }
+
+    /**
+     * Sweeps the box along the displacement of the tick. A hit moves the box up to the tile and drops the blocked
+     * axis, the rest of the move goes on along the other one. Position and displacement are left so that apply() ends
+     * up where the sweep stopped.
+     */
+    private void sweep(Vector2 position, Vector2 displacement, ColliderComponent collider) {
+        float x = position.x;
+        float y = position.y;
+        float moveX = displacement.x;
+        float moveY = displacement.y * VERTICAL_SCALE;
+        boolean blockedX = false;
+        boolean blockedY = false;
+
+        collider.sweep.set(x, y + displacement.y, collider.width, collider.height);
+
+        for (int i = 0; i < MAX_SWEEPS && (moveX != 0 || moveY != 0); i++) {
+            if (!sweep.sweep(x, y, collider.width, collider.height, moveX, moveY)) {
+                x += moveX;
+                y += moveY;
+                break;
+            }
+            float time = sweep.getTime();
+            x += moveX * time;
+            y += moveY * time;
+            moveX -= moveX * time;
+            moveY -= moveY * time;
+            // snap to the face of the tile, so rounding never leaves the box inside it
+            if (sweep.getNormalX() != 0) {
+                blockedX = true;
+                moveX = 0;
+                x = sweep.getNormalX() > 0 ? sweep.getTileX() + 1 : sweep.getTileX() - collider.width;
+            } else {
+                blockedY = true;
+                moveY = 0;
+                if (sweep.getNormalY() > 0) {
+                    y = sweep.getTileY() + 1;
+                    collider.grounded = true;
+                } else {
+                    y = sweep.getTileY() - collider.height;
+                }
+            }
+        }
+
+        // a blocked axis ends at the contact with no velocity left, a free one moves the whole way in apply()
+        if (blockedX) {
+            position.x = x;
+            displacement.x = 0;
+        }
+        if (blockedY) {
+            position.y = y;
+            displacement.y = 0;
+        }
+    }
+
+    /**
+     * @return the index of the last tile a box edge at the given coordinate reaches into
+     */
+    private static int lastCell(float edge) {
+        return (int)Math.ceil(edge) - 1;
+    }
+
+    @Override
+    public void apply(ImmutableArray<Entity> bodies, float delta) {
+        for (int i = 0; i < bodies.size(); i++) {
+            Entity entity = bodies.get(i);
+            Vector2 position = Mappers.position.get(entity).position;
+            VelocityComponent velocity = Mappers.velocity.get(entity);
+
+            // unscale the velocity by the inverse delta time and set
+            // the latest position
+            position.add(velocity.velocity);
+
+            velocity.velocity.scl(1 / delta);
+
+            velocity.velocity.x *= velocity.damping;
+
+            // the vertical velocity is applied a second time, jumps and falls are tuned to it
+            position.y += velocity.velocity.y * delta;
+        }
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
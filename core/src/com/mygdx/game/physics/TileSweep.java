@@ -0,0 +1,141 @@
+package com.mygdx.game.physics;
+
+import com.mygdx.game.model.Level;
+
+/**
+ * Swept box against the solid tiles of a level. Walks the tile boundaries the leading edges of the box cross, in the
+ * order it crosses them, and stops at the first column or row that holds a solid tile where the box would enter it.
+ * The cost grows with the number of boundaries crossed, so long moves can't tunnel through thin walls and short moves
+ * look at one or two lines of tiles. The result of the last sweep is kept in the sweep, nothing is allocated.
+ *
+ * A box that only touches a tile at a corner doesn't hit it.
+ */
+public class TileSweep {
+
+    private final Level level;
+
+    private float time;
+    private int normalX;
+    private int normalY;
+    private int tileX;
+    private int tileY;
+
+    public TileSweep(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Moves the box at (x, y) of the given size by (dx, dy).
+     *
+     * @return whether it hits a solid tile on the way; if so {@link #getTime()} and the normal tell where
+     */
+    public boolean sweep(float x, float y, float width, float height, float dx, float dy) {
+        int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+        int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+
+        // the column and row the leading edges enter next, and when
+        int column = stepX > 0 ? ceil(x + width) : floor(x) - 1;
+        int row = stepY > 0 ? ceil(y + height) : floor(y) - 1;
+        float nextX = stepX == 0 ? Float.POSITIVE_INFINITY : (stepX > 0 ? column - (x + width) : column + 1 - x) / dx;
+        float nextY = stepY == 0 ? Float.POSITIVE_INFINITY : (stepY > 0 ? row - (y + height) : row + 1 - y) / dy;
+        float deltaX = stepX == 0 ? 0 : 1 / Math.abs(dx);
+        float deltaY = stepY == 0 ? 0 : 1 / Math.abs(dy);
+
+        while (true) {
+            if (nextX <= nextY) {
+                if (nextX > 1) return false;
+                float top = y + dy * nextX;
+                if (level.anySolid(column, floor(top), column, lastCell(top + height))) {
+                    return hit(nextX, -stepX, 0, column, row(top, height, stepY, column));
+                }
+                column += stepX;
+                nextX += deltaX;
+            } else {
+                if (nextY > 1) return false;
+                float left = x + dx * nextY;
+                if (level.anySolid(floor(left), row, lastCell(left + width), row)) {
+                    return hit(nextY, 0, -stepY, column(left, width, stepX, row), row);
+                }
+                row += stepY;
+                nextY += deltaY;
+            }
+        }
+    }
+
+    private boolean hit(float time, int normalX, int normalY, int tileX, int tileY) {
+        this.time = time;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        return true;
+    }
+
+    /**
+     * @return the solid row of the column hit, the first one in the direction of travel
+     */
+    private int row(float bottom, float height, int stepY, int column) {
+        int first = floor(bottom);
+        int last = lastCell(bottom + height);
+        for (int y = first; y <= last; y++) {
+            int row = stepY > 0 ? last - (y - first) : y;
+            if (level.isSolid(column, row)) return row;
+        }
+        return first;
+    }
+
+    private int column(float left, float width, int stepX, int row) {
+        int first = floor(left);
+        int last = lastCell(left + width);
+        for (int x = first; x <= last; x++) {
+            int column = stepX > 0 ? last - (x - first) : x;
+            if (level.isSolid(column, row)) return column;
+        }
+        return first;
+    }
+
+    /**
+     * @return the index of the last tile a box edge at the given coordinate reaches into
+     */
+    private static int lastCell(float edge) {
+        return ceil(edge) - 1;
+    }
+
+    /* MathUtils rounds through a large offset and loses the precision needed right at tile boundaries */
+    private static int floor(float value) {
+        return (int)Math.floor(value);
+    }
+
+    private static int ceil(float value) {
+        return (int)Math.ceil(value);
+    }
+
+    /**
+     * @return the fraction of the move done before the hit, in [0, 1]
+     */
+    public float getTime() {
+        return time;
+    }
+
+    /**
+     * @return -1 or 1 if a wall on the right or left was hit, 0 otherwise
+     */
+    public int getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * @return 1 if the box landed on a tile, -1 if it hit a ceiling, 0 otherwise
+     */
+    public int getNormalY() {
+        return normalY;
+    }
+
+    public int getTileX() {
+        return tileX;
+    }
+
+    public int getTileY() {
+        return tileY;
+    }
+}
@@ -0,0 +1,223 @@
+package com.mygdx.game.profiling;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.systems.TimedSystem;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Times the phases of a frame and keeps the last frames in a ring buffer that is allocated once, when profiling is
+ * first enabled. Phases are timed back to back: {@link #end(int)} charges the time since the previous mark to a phase
+ * and sets a new mark. The simulation systems are columns too; they time themselves ({@link TimedSystem}) and every
+ * tick of the frame is added up. While disabled every call returns after a field check.
+ *
+ * Phases and systems are added before profiling is first enabled; the buffer is sized for them then.
+ */
+public class FrameProfiler {
+
+    /** Ten seconds at 60 frames per second. */
+    public static final int DEFAULT_FRAMES = 600;
+
+    /** Told about every phase of every profiled frame, e.g. to forward it to a platform profiler. */
+    public interface Listener {
+        /**
+         * @return whether to be told about the phases of the frame that just ended; asked once per frame, so a listener
+         *         that is off costs one call a frame
+         */
+        boolean isListening();
+
+        void phaseEnded(String phase, long nanos);
+    }
+
+    private final int capacity;
+    private final Array<String> names = new Array<String>();
+    private final Array<TimedSystem> systems = new Array<TimedSystem>();
+    private int firstSystem;
+
+    /* frames as rows of the total followed by a column per phase, written round robin */
+    private long[] ring;
+    private long[] current;
+    private long[] systemTotals;
+    private int frames;
+
+    private boolean enabled;
+    private long frameStart;
+    private long mark;
+    private Listener listener;
+
+    public FrameProfiler() {
+        this(DEFAULT_FRAMES);
+    }
+
+    /**
+     * @param capacity frames kept, the oldest are overwritten
+     */
+    public FrameProfiler(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the id of the phase, for {@link #end(int)}
+     */
+    public int addPhase(String name) {
+        if (ring != null) throw new IllegalStateException("Phases must be added before profiling is enabled");
+        if (systems.size > 0) throw new IllegalStateException("Phases must be added before the systems");
+        names.add(name);
+        return names.size - 1;
+    }
+
+    /**
+     * Adds a column for every {@link TimedSystem} of the engine, named after its class.
+     */
+    public void addSystems(Engine engine) {
+        if (ring != null) throw new IllegalStateException("Systems must be added before profiling is enabled");
+        if (systems.size == 0) firstSystem = names.size;
+        ImmutableArray<EntitySystem> all = engine.getSystems();
+        for (int i = 0; i < all.size(); i++) {
+            if (!(all.get(i) instanceof TimedSystem)) continue;
+            String name = all.get(i).getClass().getName();
+            systems.add((TimedSystem)all.get(i));
+            names.add(name.substring(name.lastIndexOf('.') + 1));
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && ring == null) {
+            ring = new long[capacity * (names.size + 1)];
+            current = new long[names.size];
+            systemTotals = new long[systems.size];
+        }
+        this.enabled = enabled;
+        // the systems ran while disabled; the next frame must only count its own ticks
+        if (enabled) {
+            for (int i = 0; i < systems.size; i++) {
+                systemTotals[i] = systems.get(i).getTotalNanos();
+            }
+        }
+        frameStart = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts a frame and the clock of its first phase.
+     */
+    public void beginFrame() {
+        if (!enabled) return;
+        frameStart = TimeUtils.nanoTime();
+        mark = frameStart;
+    }
+
+    /**
+     * Restarts the clock without charging the time since the last mark to any phase.
+     */
+    public void begin() {
+        if (!enabled) return;
+        mark = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Charges the time since the last mark to the phase and restarts the clock.
+     */
+    public void end(int phase) {
+        if (!enabled) return;
+        long now = TimeUtils.nanoTime();
+        current[phase] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * Stores the frame in the ring buffer and tells the listener about it.
+     */
+    public void endFrame() {
+        // a frame enabled half way through is incomplete
+        if (!enabled || frameStart == 0) return;
+        for (int i = 0; i < systems.size; i++) {
+            long total = systems.get(i).getTotalNanos();
+            current[firstSystem + i] = total - systemTotals[i];
+            systemTotals[i] = total;
+        }
+
+        int columns = names.size + 1;
+        int row = (frames % capacity) * columns;
+        ring[row] = TimeUtils.nanoTime() - frameStart;
+        boolean listening = listener != null && listener.isListening();
+        for (int i = 0; i < names.size; i++) {
+            ring[row + 1 + i] = current[i];
+            if (listening) listener.phaseEnded(names.get(i), current[i]);
+            current[i] = 0;
+        }
+        frames++;
+    }
+
+    /**
+     * @return the number of frames in the buffer
+     */
+    public int getFrameCount() {
+        return Math.min(frames, capacity);
+    }
+
+    public int getPhaseCount() {
+        return names.size;
+    }
+
+    public String getPhaseName(int phase) {
+        return names.get(phase);
+    }
+
+    /**
+     * @param frame 0 for the oldest frame in the buffer
+     * @param phase a phase id, or -1 for the whole frame
+     */
+    public long getNanos(int frame, int phase) {
+        int first = frames > capacity ? frames % capacity : 0;
+        return ring[((first + frame) % capacity) * (names.size + 1) + 1 + phase];
+    }
+
+    /**
+     * Writes the frames in the buffer, oldest first, as CSV: the frame number, the frame time and a column per phase,
+     * all in nanoseconds.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("frame,total");
+        for (int i = 0; i < names.size; i++) {
+            writer.write(',');
+            writer.write(names.get(i));
+        }
+        writer.write('\n');
+        int count = getFrameCount();
+        for (int frame = 0; frame < count; frame++) {
+            writer.write(String.valueOf(frames - count + frame));
+            for (int phase = -1; phase < names.size; phase++) {
+                writer.write(',');
+                writer.write(String.valueOf(getNanos(frame, phase)));
+            }
+            writer.write('\n');
+        }
+    }
+
+    public void writeCsv(FileHandle file) {
+        Writer writer = file.writer(false, "UTF-8");
+        try {
+            writeCsv(writer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write profile " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(writer);
+        }
+    }
+}
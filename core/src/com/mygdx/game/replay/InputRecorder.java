@@ -0,0 +1,25 @@
+package com.mygdx.game.replay;
+
+import com.mygdx.game.controller.GameWorld;
+
+/**
+ * Records every tick of a world into a {@link Recording}. Hashing the state costs a pass over the bullets per tick,
+ * so it's only attached while recording or replaying.
+ */
+public class InputRecorder implements GameWorld.TickListener {
+
+    private final Recording recording;
+
+    public InputRecorder(Recording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public void ticked(GameWorld world, int input) {
+        recording.add(input, StateHash.of(world));
+    }
+
+    public Recording getRecording() {
+        return recording;
+    }
+}
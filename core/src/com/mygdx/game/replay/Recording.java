@@ -0,0 +1,192 @@
+package com.mygdx.game.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.mygdx.game.model.LevelFile;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The input of every tick of a run, and hashes of the state it led to. Inputs are kept as runs of the same input, so
+ * holding a key costs a few bytes however long it's held. The state hashes are chained: every one covers all the ticks
+ * before it, so comparing a hash every {@link #getHashInterval()} ticks catches any divergence and narrows it down to
+ * one interval.
+ *
+ * The file is big endian: magic "RPLY", version, level name, hash interval, tick count, run count, the runs as an
+ * input byte and an unsigned short length, hash count, the hashes and the chained hash after the last tick.
+ */
+public class Recording {
+
+    public static final int MAGIC = 0x52504C59;
+    public static final int VERSION = 1;
+
+    /** One hash a second. */
+    public static final int DEFAULT_HASH_INTERVAL = 60;
+
+    private static final int MAX_RUN = 0xFFFF;
+
+    private final String level;
+    private final int hashInterval;
+
+    private final ByteArray runInputs = new ByteArray();
+    private final IntArray runLengths = new IntArray();
+    private final IntArray hashes = new IntArray();
+    private int ticks;
+    private int chain = LevelFile.FNV_BASIS;
+
+    /* playback position: the run holding cursorTick and the first tick of that run */
+    private int cursorRun;
+    private int cursorStart;
+
+    /**
+     * @param level the file name of the level the run is on
+     * @param hashInterval ticks between two kept hashes
+     */
+    public Recording(String level, int hashInterval) {
+        if (hashInterval < 1) throw new IllegalArgumentException("hashInterval must be > 0: " + hashInterval);
+        this.level = level;
+        this.hashInterval = hashInterval;
+    }
+
+    /**
+     * Adds the next tick.
+     *
+     * @param input the input the tick ran on, a combination of the GameWorld INPUT bits
+     * @param stateHash the {@link StateHash} of the world after the tick
+     */
+    public void add(int input, int stateHash) {
+        int last = runInputs.size - 1;
+        if (last >= 0 && runInputs.get(last) == (byte)input && runLengths.get(last) < MAX_RUN) {
+            runLengths.incr(last, 1);
+        } else {
+            runInputs.add((byte)input);
+            runLengths.add(1);
+        }
+        chain = StateHash.mix(chain, stateHash);
+        ticks++;
+        if (ticks % hashInterval == 0) hashes.add(chain);
+    }
+
+    /**
+     * @return the input of the given tick; fastest when the ticks are asked for in order
+     */
+    public int getInput(int tick) {
+        if (tick < 0 || tick >= ticks) throw new IndexOutOfBoundsException("tick " + tick + " of " + ticks);
+        if (tick < cursorStart) {
+            cursorRun = 0;
+            cursorStart = 0;
+        }
+        while (tick >= cursorStart + runLengths.get(cursorRun)) {
+            cursorStart += runLengths.get(cursorRun);
+            cursorRun++;
+        }
+        return runInputs.get(cursorRun) & 0xFF;
+    }
+
+    public void write(FileHandle file) {
+        DataOutputStream out = new DataOutputStream(file.write(false, 8192));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(level);
+            out.writeInt(hashInterval);
+            out.writeInt(ticks);
+            out.writeInt(runInputs.size);
+            for (int i = 0; i < runInputs.size; i++) {
+                out.writeByte(runInputs.get(i));
+                out.writeShort(runLengths.get(i));
+            }
+            out.writeInt(hashes.size);
+            for (int i = 0; i < hashes.size; i++) {
+                out.writeInt(hashes.get(i));
+            }
+            out.writeInt(chain);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write recording " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static Recording read(FileHandle file) {
+        DataInputStream in = new DataInputStream(file.read(8192));
+        try {
+            if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a recording: " + file);
+            int version = in.readInt();
+            if (version != VERSION) throw new GdxRuntimeException("Unsupported recording version " + version + ": " + file);
+            Recording recording = new Recording(in.readUTF(), in.readInt());
+            recording.ticks = in.readInt();
+            int runs = in.readInt();
+            recording.runInputs.ensureCapacity(runs);
+            recording.runLengths.ensureCapacity(runs);
+            int total = 0;
+            for (int i = 0; i < runs; i++) {
+                recording.runInputs.add(in.readByte());
+                int length = in.readUnsignedShort();
+                recording.runLengths.add(length);
+                total += length;
+            }
+            int count = in.readInt();
+            if (total != recording.ticks || count != recording.ticks / recording.hashInterval) {
+                throw new GdxRuntimeException("Recording is corrupt: " + file);
+            }
+            for (int i = 0; i < count; i++) {
+                recording.hashes.add(in.readInt());
+            }
+            recording.chain = in.readInt();
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read recording " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    /**
+     * @return the file name of the level the run is on
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    public int getHashInterval() {
+        return hashInterval;
+    }
+
+    public int getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * @return the number of runs of the same input
+     */
+    public int getRunCount() {
+        return runInputs.size;
+    }
+
+    /**
+     * @return the number of kept hashes, one per full interval
+     */
+    public int getHashCount() {
+        return hashes.size;
+    }
+
+    /**
+     * @return the chained state hash after tick {@code (i + 1) * getHashInterval()}
+     */
+    public int getHash(int i) {
+        return hashes.get(i);
+    }
+
+    /**
+     * @return the chained state hash after the last tick
+     */
+    public int getFinalHash() {
+        return chain;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mygdx.game.replay;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.systems.BulletSystem;
+
+/**
+ * Hash of the state of a world that a tick can change: the player, the score and every bullet. Floats are hashed by
+ * their bits, so two runs only hash the same if they are identical.
+ */
+public final class StateHash {
+
+    private StateHash() {
+    }
+
+    public static int of(GameWorld world) {
+        Entity player = world.getPlayer();
+        Vector2 position = Mappers.position.get(player).position;
+        Vector2 velocity = Mappers.velocity.get(player).velocity;
+        PlayerComponent state = Mappers.player.get(player);
+        ColliderComponent collider = Mappers.collider.get(player);
+
+        int hash = LevelFile.FNV_BASIS;
+        hash = mix(hash, position.x);
+        hash = mix(hash, position.y);
+        hash = mix(hash, velocity.x);
+        hash = mix(hash, velocity.y);
+        hash = mix(hash, state.state.ordinal());
+        hash = mix(hash, (state.facingRight ? 1 : 0) | (collider.grounded ? 2 : 0));
+        hash = mix(hash, world.getScore());
+
+        BulletSystem bullets = world.getBullets();
+        hash = mix(hash, bullets.size());
+        for (int i = 0; i < bullets.size(); i++) {
+            hash = mix(hash, bullets.getX(i));
+            hash = mix(hash, bullets.getY(i));
+        }
+        return hash;
+    }
+
+    /**
+     * FNV-1a step over a 32 bit word.
+     */
+    public static int mix(int hash, int value) {
+        return (hash ^ value) * LevelFile.FNV_PRIME;
+    }
+
+    private static int mix(int hash, float value) {
+        return mix(hash, NumberUtils.floatToIntBits(value));
+    }
+}
@@ -0,0 +1,108 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.components.AwakeComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.controller.ActiveRegion;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.physics.SpatialGrid;
+
+/**
+ * Follows the player with the active region, streams the level chunks under it and marks the enemies inside it with
+ * an {@link AwakeComponent}. The awake set only changes when the region crosses a broadphase cell boundary, so this
+ * is usually a few comparisons; when it does change, only the enemies that woke up or fell asleep are touched.
+ */
+public class ActiveRegionSystem extends TimedSystem {
+
+    private final GameWorld world;
+    private final ActiveRegion region;
+
+    /* indices into the enemy list, ascending: the awake enemies and the scratch list for the next set */
+    private IntArray awake = new IntArray();
+    private IntArray next = new IntArray();
+    private int awakeX0, awakeY0, awakeX1, awakeY1;
+    private boolean dirty = true;
+
+    public ActiveRegionSystem(int priority, GameWorld world, ActiveRegion region) {
+        super(priority);
+        this.world = world;
+        this.region = region;
+    }
+
+    /**
+     * Forces the awake set to be rebuilt on the next update, e.g. after enemies were added.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    @Override
+    protected void process(float delta) {
+        Level level = world.getLevel();
+        Vector2 player = Mappers.position.get(world.getPlayer()).position;
+        region.setCenter(player.x, GameWorld.VIEW_HEIGHT / 2);
+        level.setWindow(region.getLeft(), region.getRight());
+
+        // enemies are bucketed by their bottom left corner, so reach back by an enemy's size
+        int x0 = clampedFloor(region.getLeft() - PlayerComponent.WIDTH, level.getWidth()) >> GameWorld.BROADPHASE_CELL_SHIFT;
+        int y0 = clampedFloor(region.getBottom() - PlayerComponent.HEIGHT, level.getHeight()) >> GameWorld.BROADPHASE_CELL_SHIFT;
+        int x1 = clampedFloor(region.getRight(), level.getWidth()) >> GameWorld.BROADPHASE_CELL_SHIFT;
+        int y1 = clampedFloor(region.getTop(), level.getHeight()) >> GameWorld.BROADPHASE_CELL_SHIFT;
+
+        if (!dirty && x0 == awakeX0 && y0 == awakeY0 && x1 == awakeX1 && y1 == awakeY1) return;
+        awakeX0 = x0;
+        awakeY0 = y0;
+        awakeX1 = x1;
+        awakeY1 = y1;
+        dirty = false;
+
+        SpatialGrid grid = world.getEnemyGrid();
+        int cellSize = grid.getCellSize();
+        grid.query(x0 * cellSize, y0 * cellSize, x1 * cellSize, y1 * cellSize, next);
+        next.sort();
+
+        // walk both sorted sets, touching only the difference
+        Array<Entity> enemies = world.getEnemies();
+        int i = 0, j = 0;
+        while (i < awake.size || j < next.size) {
+            int before = i < awake.size ? awake.get(i) : Integer.MAX_VALUE;
+            int after = j < next.size ? next.get(j) : Integer.MAX_VALUE;
+            if (before == after) {
+                i++;
+                j++;
+            } else if (before < after) {
+                enemies.get(before).remove(AwakeComponent.class);
+                i++;
+            } else {
+                enemies.get(after).add(AwakeComponent.INSTANCE);
+                j++;
+            }
+        }
+
+        IntArray swap = awake;
+        awake = next;
+        next = swap;
+    }
+
+    /**
+     * Floors a coordinate that may be far outside of the level (or infinite) into [-1, size].
+     */
+    private static int clampedFloor(float value, int size) {
+        if (value < -1) return -1;
+        if (value > size) return size;
+        return MathUtils.floor(value);
+    }
+
+    /**
+     * @return indices into the enemy list of the enemies that are awake, ascending
+     */
+    public IntArray getAwake() {
+        return awake;
+    }
+}
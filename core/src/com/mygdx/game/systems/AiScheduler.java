@@ -0,0 +1,118 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.components.AiComponent;
+import com.mygdx.game.components.Mappers;
+
+/**
+ * Timing wheel of the awake turrets, by the tick of their next evaluation. Every turret comes due once per cooldown, on
+ * the ticks its phase picks, so evaluations spread over the ticks instead of landing on one. Due turrets wait in a
+ * queue until the owner gets round to them; a turret that waited longer than its cooldown skips the shots it missed
+ * rather than firing them all at once. Turrets that fall asleep are dropped when they come up.
+ */
+public class AiScheduler {
+
+    /** Ticks per lap of the wheel. Longer cooldowns stay in their slot for more than one lap. */
+    public static final int WHEEL_SIZE = 64;
+
+    private final float tickLength;
+
+    @SuppressWarnings("unchecked")
+    private final Array<Entity>[] slots = new Array[WHEEL_SIZE];
+
+    /* due turrets in the order they came due, from head on */
+    private final Array<Entity> queue = new Array<Entity>();
+    private int head;
+
+    private long tick;
+
+    /**
+     * @param tickLength seconds per tick, to turn cooldowns and phases into ticks
+     */
+    public AiScheduler(float tickLength) {
+        this.tickLength = tickLength;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new Array<Entity>();
+        }
+    }
+
+    /**
+     * Puts a turret that just woke up on the wheel, at the next tick of its phase. Does nothing if it is still held.
+     */
+    public void schedule(Entity entity) {
+        AiComponent ai = Mappers.ai.get(entity);
+        if (ai.scheduled) return;
+        ai.scheduled = true;
+        insert(entity, ai, tick);
+    }
+
+    /**
+     * Puts a turret that was just evaluated back on the wheel, at the next tick of its phase.
+     */
+    public void reschedule(Entity entity) {
+        insert(entity, Mappers.ai.get(entity), tick);
+    }
+
+    private void insert(Entity entity, AiComponent ai, long after) {
+        int cooldown = Math.max(1, Math.round(ai.archetype.cooldown / tickLength));
+        int phase = Math.round(ai.phase / tickLength) % cooldown;
+        long next = after + 1;
+        next += ((phase - next % cooldown) % cooldown + cooldown) % cooldown;
+        ai.nextTick = next;
+        slots[(int)(next & (WHEEL_SIZE - 1))].add(entity);
+    }
+
+    /**
+     * Moves on to the next tick and queues the turrets due on it.
+     */
+    public void advance() {
+        tick++;
+        Array<Entity> slot = slots[(int)(tick & (WHEEL_SIZE - 1))];
+        int kept = 0;
+        for (int i = 0; i < slot.size; i++) {
+            Entity entity = slot.get(i);
+            AiComponent ai = Mappers.ai.get(entity);
+            if (!Mappers.awake.has(entity)) {
+                ai.scheduled = false;
+            } else if (ai.nextTick == tick) {
+                queue.add(entity);
+            } else {
+                slot.set(kept++, entity);
+            }
+        }
+        slot.truncate(kept);
+    }
+
+    /**
+     * Takes up to {@code max} due turrets off the queue, in the order they came due, skipping the ones that fell asleep.
+     */
+    public void poll(Array<Entity> out, int max) {
+        while (head < queue.size && out.size < max) {
+            Entity entity = queue.get(head++);
+            if (Mappers.awake.has(entity)) {
+                out.add(entity);
+            } else {
+                Mappers.ai.get(entity).scheduled = false;
+            }
+        }
+        if (head == queue.size) {
+            queue.clear();
+            head = 0;
+        } else if (head > queue.size / 2) {
+            queue.removeRange(0, head - 1);
+            head = 0;
+        }
+    }
+
+    /**
+     * @return the number of turrets that are due but not evaluated yet
+     */
+    public int getQueueDepth() {
+        return queue.size - head;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
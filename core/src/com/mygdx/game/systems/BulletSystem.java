@@ -0,0 +1,148 @@
+package com.mygdx.game.systems;
+
+import com.mygdx.game.controller.ActiveRegion;
+import com.mygdx.game.physics.SpatialGrid;
+import com.mygdx.game.physics.TileSweep;
+
+/**
+ * All live bullets, stored as parallel primitive arrays of a fixed capacity. Bullets are packed at the front of the
+ * arrays; a dead bullet is replaced by the last one (swap-remove), so integration is one tight loop over dense data
+ * and nothing is allocated after construction. The index of a bullet is its id in the broadphase grid and changes
+ * when another bullet is removed. Bullets are too many and too short-lived to be entities of their own.
+ */
+public class BulletSystem extends TimedSystem {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private int count;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] width;
+    private final float[] height;
+
+    private final SpatialGrid grid;
+    private final ActiveRegion region;
+    private final TileSweep walls;
+
+    /**
+     * @param region bullets leaving it are despawned
+     * @param walls bullets hitting a solid tile are despawned
+     */
+    public BulletSystem(int priority, int capacity, SpatialGrid grid, ActiveRegion region, TileSweep walls) {
+        super(priority);
+        this.capacity = capacity;
+        this.grid = grid;
+        this.region = region;
+        this.walls = walls;
+
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+    }
+
+    /**
+     * @return the index of the new bullet, or -1 if the system is full and the bullet was dropped
+     */
+    public int spawn(float x, float y, float velocityX, float velocityY, float width, float height) {
+        if (count == capacity) return -1;
+
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.width[i] = width;
+        this.height[i] = height;
+        grid.insert(i, x, y);
+        return i;
+    }
+
+    /**
+     * Moves every bullet by its velocity and drops the ones that left the map on the left, left the active region or
+     * hit a wall on the way. Bullets are transient, so unlike enemies they are despawned rather than put to sleep.
+     */
+    @Override
+    protected void process(float delta) {
+        float[] x = this.x;
+        float[] y = this.y;
+
+        for (int i = 0; i < count; ) {
+            float dx = velocityX[i] * delta;
+            float dy = velocityY[i] * delta;
+            if (x[i] < 0 || !region.isActive(x[i], y[i], width[i], height[i])
+                    || walls.sweep(x[i], y[i], width[i], height[i], dx, dy)) {
+                remove(i);
+            } else {
+                x[i] += dx;
+                y[i] += dy;
+                grid.move(i, x[i], y[i]);
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Removes the bullet at the index in O(1); the last bullet takes its place.
+     */
+    public void remove(int i) {
+        int last = --count;
+        grid.remove(i);
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            width[i] = width[last];
+            height[i] = height[last];
+            grid.relabel(last, i);
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        grid.clear();
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public float getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    public float getVelocityY(int i) {
+        return velocityY[i];
+    }
+
+    public float getWidth(int i) {
+        return width[i];
+    }
+
+    public float getHeight(int i) {
+        return height[i];
+    }
+
+    public SpatialGrid getGrid() {
+        return grid;
+    }
+}
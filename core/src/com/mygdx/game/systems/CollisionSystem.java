@@ -0,0 +1,58 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.components.VelocityComponent;
+import com.mygdx.game.physics.PhysicsBackend;
+
+/**
+ * First physics phase: resolves the movement of every body against the level with the {@link PhysicsBackend}, and
+ * keeps the backend informed of the bodies entering and leaving the engine. {@link MovementSystem} applies the result.
+ */
+public class CollisionSystem extends TimedSystem implements EntityListener {
+
+    @SuppressWarnings("unchecked")
+    public static final Family BODIES = Family.getFor(PositionComponent.class, VelocityComponent.class, ColliderComponent.class);
+
+    private final PhysicsBackend physics;
+    private ImmutableArray<Entity> entities;
+
+    public CollisionSystem(int priority, PhysicsBackend physics) {
+        super(priority);
+        this.physics = physics;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(BODIES);
+        for (int i = 0; i < entities.size(); i++) {
+            physics.add(entities.get(i));
+        }
+        engine.addEntityListener(BODIES, this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        physics.add(entity);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        physics.remove(entity);
+    }
+
+    @Override
+    protected void process(float delta) {
+        physics.resolve(entities, delta);
+    }
+}
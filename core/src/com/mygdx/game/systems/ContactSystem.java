@@ -0,0 +1,99 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.controller.GameWorld;
+
+/**
+ * Tests the player against the enemies and the bullets near it, through their broadphase grids. Every hit sends the
+ * player back to the spawn point and counts for the score.
+ */
+public class ContactSystem extends TimedSystem {
+
+    private final GameWorld world;
+    private ImmutableArray<Entity> entities;
+    private final IntArray nearby = new IntArray();
+
+    public ContactSystem(int priority, GameWorld world) {
+        super(priority);
+        this.world = world;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.getFor(PlayerComponent.class, PositionComponent.class, ColliderComponent.class));
+    }
+
+    @Override
+    protected void process(float delta) {
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            Vector2 position = Mappers.position.get(entity).position;
+            ColliderComponent collider = Mappers.collider.get(entity);
+
+            int startX = (int)(position.x - collider.width);
+            int endX = (int)(position.x + collider.width * 2);
+
+            int startY = (int)(position.y - collider.height);
+            int endY = (int)(position.y + collider.height * 2);
+
+            int hits = countEnemyHits(collider.sweep, startX, startY, endX, endY);
+            if (hits > 0) {
+                world.respawn(hits);
+            }
+
+            hits = countBulletHits(collider.sweep, startX, startY, endX, endY);
+            if (hits > 0) {
+                world.respawn(hits);
+            }
+        }
+    }
+
+    /**
+     * Counts the enemies whose box overlaps the given one, looking only at the broadphase cells touching the
+     * inclusive tile box.
+     */
+    private int countEnemyHits(Rectangle box, int startX, int startY, int endX, int endY) {
+        world.getEnemyGrid().query(startX, startY, endX, endY, nearby);
+        Array<Entity> enemies = world.getEnemies();
+        int hits = 0;
+        for (int i = 0; i < nearby.size; i++) {
+            Entity enemy = enemies.get(nearby.get(i));
+            Vector2 position = Mappers.position.get(enemy).position;
+            ColliderComponent collider = Mappers.collider.get(enemy);
+            if (overlaps(box, position.x, position.y, collider.width, collider.height)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private int countBulletHits(Rectangle box, int startX, int startY, int endX, int endY) {
+        BulletSystem bullets = world.getBullets();
+        bullets.getGrid().query(startX, startY, endX, endY, nearby);
+        int hits = 0;
+        for (int i = 0; i < nearby.size; i++) {
+            int bullet = nearby.get(i);
+            if (overlaps(box, bullets.getX(bullet), bullets.getY(bullet), bullets.getWidth(bullet), bullets.getHeight(bullet))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static boolean overlaps(Rectangle box, float x, float y, float width, float height) {
+        return box.x < x + width && box.x + box.width > x
+                && box.y < y + height && box.y + box.height > y;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.controller.GameWorld;
+
+/**
+ * Puts a player that fell out of the bottom of the level back to the spawn point. Falling doesn't count as a hit.
+ */
+public class FallSystem extends TimedSystem {
+
+    private final GameWorld world;
+    private ImmutableArray<Entity> entities;
+
+    public FallSystem(int priority, GameWorld world) {
+        super(priority);
+        this.world = world;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.getFor(PlayerComponent.class, PositionComponent.class));
+    }
+
+    @Override
+    protected void process(float delta) {
+        for (int i = 0; i < entities.size(); i++) {
+            PositionComponent position = Mappers.position.get(entities.get(i));
+            if (position.position.y < 0) {
+                position.set(GameWorld.SPAWN_X, GameWorld.SPAWN_Y);
+            }
+        }
+    }
+}
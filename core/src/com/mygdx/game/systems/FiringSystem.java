@@ -0,0 +1,240 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.components.AiComponent;
+import com.mygdx.game.components.AwakeComponent;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.model.EnemyArchetype;
+import com.mygdx.game.physics.AxisIndex;
+import com.mygdx.game.physics.LineOfSight;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets the awake turrets fire at the player, each on its own cooldown and phase from the {@link AiScheduler}, when they
+ * have a line of sight to it. Every tick evaluates the turrets that came due in batches until the batches have used up
+ * the time budget; the rest wait for the next tick. A batch runs in two phases: every turret decides whether it fires,
+ * in a chunk per thread of the {@link TaskRunner}, reading nothing but the positions and the level; then the bullets
+ * are spawned one after the other in turret order, so a parallel runner fires exactly what a serial one does.
+ */
+public class FiringSystem extends TimedSystem implements EntityListener {
+
+    /** Fewest turrets per chunk of the decide phase; smaller chunks cost more to hand out than to decide. */
+    public static final int MIN_GRAIN = 64;
+
+    /** Turrets evaluated between two looks at the clock. */
+    public static final int BATCH = 4096;
+
+    /** Time a tick may spend on evaluations, in nanoseconds. */
+    public static final long DEFAULT_BUDGET = 2000000;
+
+    @SuppressWarnings("unchecked")
+    public static final Family TURRETS = Family.getFor(AiComponent.class, PositionComponent.class, ColliderComponent.class,
+            AwakeComponent.class);
+
+    private final GameWorld world;
+    private final AiScheduler scheduler;
+    private final LineOfSight sight;
+    private ImmutableArray<Entity> entities;
+    private TaskRunner runner = TaskRunner.SERIAL;
+    private long budget = DEFAULT_BUDGET;
+
+    /* the turrets of the batch being evaluated */
+    private final Array<Entity> batch = new Array<Entity>();
+    private final ImmutableArray<Entity> batchView = new ImmutableArray<Entity>(batch);
+
+    /* written by the decide phase: whether the turret at the index fires, and the player it looked at */
+    private ImmutableArray<Entity> targets;
+    private boolean[] firing = new boolean[0];
+    private float playerX;
+    private int playerTileX;
+    private int playerTileY;
+    private int solidRevision;
+
+    private int evaluated;
+    private long deferred;
+    /* counted from the decide phase, which may run on several threads */
+    private final AtomicLong traces = new AtomicLong();
+
+    private final TaskRunner.Task decide = new TaskRunner.Task() {
+        @Override
+        public void run(int from, int to) {
+            for (int i = from; i < to; i++) {
+                Entity entity = targets.get(i);
+                Vector2 position = Mappers.position.get(entity).position;
+                AiComponent ai = Mappers.ai.get(entity);
+                //check distance and if player is behind enemy
+                firing[i] = position.x - playerX <= ai.archetype.range && position.x > playerX
+                        && Mappers.awake.has(entity) && canSee(ai, position);
+            }
+        }
+    };
+
+    /**
+     * Traces from the tile of the muzzle to the tile of the player's center, unless neither moved to another tile and
+     * the level is the same since the last trace of the turret.
+     */
+    private boolean canSee(AiComponent ai, Vector2 position) {
+        int fromX = MathUtils.floor(position.x);
+        int fromY = MathUtils.floor(position.y + ai.archetype.height * ai.archetype.muzzle);
+        if (fromX != ai.sightFromX || fromY != ai.sightFromY || playerTileX != ai.sightToX || playerTileY != ai.sightToY
+                || solidRevision != ai.sightRevision) {
+            ai.canSee = sight.isClear(fromX, fromY, playerTileX, playerTileY);
+            ai.sightFromX = fromX;
+            ai.sightFromY = fromY;
+            ai.sightToX = playerTileX;
+            ai.sightToY = playerTileY;
+            ai.sightRevision = solidRevision;
+            traces.incrementAndGet();
+        }
+        return ai.canSee;
+    }
+
+    /**
+     * @param tick seconds per update, to count the cooldowns in ticks
+     */
+    public FiringSystem(int priority, GameWorld world, float tick) {
+        super(priority);
+        this.world = world;
+        scheduler = new AiScheduler(tick);
+        sight = new LineOfSight(world.getLevel());
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(TURRETS);
+        for (int i = 0; i < entities.size(); i++) {
+            scheduler.schedule(entities.get(i));
+        }
+        engine.addEntityListener(TURRETS, this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        scheduler.schedule(entity);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        // the scheduler drops it when it comes up
+    }
+
+    @Override
+    protected void process(float delta) {
+        scheduler.advance();
+
+        long start = TimeUtils.nanoTime();
+        evaluated = 0;
+        while (scheduler.getQueueDepth() > 0 && (evaluated == 0 || TimeUtils.nanoTime() - start < budget)) {
+            batch.clear();
+            scheduler.poll(batch, BATCH);
+            volley(batchView);
+            for (int i = 0; i < batch.size; i++) {
+                scheduler.reschedule(batch.get(i));
+            }
+            evaluated += batch.size;
+        }
+        deferred += scheduler.getQueueDepth();
+    }
+
+    /**
+     * Fires one volley from every awake turret in range right away, off the schedule. Only the turrets the enemy index
+     * puts within the longest range ahead of the player are looked at.
+     */
+    public void fire() {
+        AxisIndex index = world.getEnemyIndex();
+        Array<Entity> enemies = world.getEnemies();
+        float playerX = Mappers.position.get(world.getPlayer()).position.x;
+
+        batch.clear();
+        int end = index.upperBound(playerX + world.getMaxEnemyRange());
+        for (int i = index.upperBound(playerX); i < end; i++) {
+            batch.add(enemies.get(index.getId(i)));
+        }
+        volley(batchView);
+    }
+
+    private void volley(ImmutableArray<Entity> turrets) {
+        int count = turrets.size();
+        if (firing.length < count) firing = new boolean[MathUtils.nextPowerOfTwo(count)];
+        Entity player = world.getPlayer();
+        Vector2 playerPosition = Mappers.position.get(player).position;
+        ColliderComponent collider = Mappers.collider.get(player);
+        playerX = playerPosition.x;
+        playerTileX = MathUtils.floor(playerPosition.x + collider.width / 2);
+        playerTileY = MathUtils.floor(playerPosition.y + collider.height / 2);
+        solidRevision = world.getLevel().getSolidRevision();
+        targets = turrets;
+
+        // a tick only decides the turrets that came due, often a few hundred, so the chunks are sized to the batch
+        runner.run(count, Math.max(MIN_GRAIN, count / runner.getParallelism()), decide);
+
+        for (int i = 0; i < count; i++) {
+            if (!firing[i]) continue;
+            Entity entity = turrets.get(i);
+            EnemyArchetype archetype = Mappers.ai.get(entity).archetype;
+            Vector2 position = Mappers.position.get(entity).position;
+            world.spawnBullet(position.x, position.y + archetype.height * archetype.muzzle, archetype.bulletSpeed, 0);
+        }
+    }
+
+    /**
+     * @param runner runs the decide phase of the volleys, {@link TaskRunner#SERIAL} by default
+     */
+    public void setRunner(TaskRunner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * @param budget nanoseconds a tick may spend on evaluations, at least one batch always runs.
+     *               {@link Long#MAX_VALUE} never defers, which keeps the simulation independent of the machine
+     */
+    public void setBudget(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * @return the turrets that came due but were left for a later tick by the last update
+     */
+    public int getQueueDepth() {
+        return scheduler.getQueueDepth();
+    }
+
+    /**
+     * @return the turrets evaluated by the last update
+     */
+    public int getEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * @return the lines of sight traced since the start; the other evaluations in range were answered by the turret's
+     *         last trace
+     */
+    public long getTraces() {
+        return traces.get();
+    }
+
+    /**
+     * @return the evaluations carried over to a later tick since the start, one per turret and tick it waited
+     */
+    public long getDeferred() {
+        return deferred;
+    }
+}
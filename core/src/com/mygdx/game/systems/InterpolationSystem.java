@@ -0,0 +1,35 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PositionComponent;
+import com.mygdx.game.components.VelocityComponent;
+
+/**
+ * Remembers where every moving entity is at the start of a tick, so renderers can interpolate between ticks.
+ */
+public class InterpolationSystem extends TimedSystem {
+
+    private ImmutableArray<Entity> entities;
+
+    public InterpolationSystem(int priority) {
+        super(priority);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.getFor(PositionComponent.class, VelocityComponent.class));
+    }
+
+    @Override
+    protected void process(float delta) {
+        for (int i = 0; i < entities.size(); i++) {
+            PositionComponent position = Mappers.position.get(entities.get(i));
+            position.previous.set(position.position);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.physics.PhysicsBackend;
+
+/**
+ * Second physics phase: moves the bodies to where {@link CollisionSystem} resolved them and damps their velocities.
+ */
+public class MovementSystem extends TimedSystem {
+
+    private final PhysicsBackend physics;
+    private ImmutableArray<Entity> entities;
+
+    public MovementSystem(int priority, PhysicsBackend physics) {
+        super(priority);
+        this.physics = physics;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(CollisionSystem.BODIES);
+    }
+
+    @Override
+    protected void process(float delta) {
+        physics.apply(entities, delta);
+    }
+}
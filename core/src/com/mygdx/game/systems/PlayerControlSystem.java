@@ -0,0 +1,129 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.mygdx.game.components.ColliderComponent;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.components.PlayerComponent.State;
+import com.mygdx.game.components.VelocityComponent;
+
+/**
+ * Turns the input state of the player into velocity, applies gravity and runs the player's state machine.
+ */
+public class PlayerControlSystem extends TimedSystem {
+
+    private ImmutableArray<Entity> entities;
+
+    /* tick length used when releasing the jump and to time jumps */
+    private final float tick;
+
+    public PlayerControlSystem(int priority, float tick) {
+        super(priority);
+        this.tick = tick;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.getFor(PlayerComponent.class, VelocityComponent.class, ColliderComponent.class));
+    }
+
+    @Override
+    protected void process(float delta) {
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            control(Mappers.player.get(entity), Mappers.velocity.get(entity), Mappers.collider.get(entity), delta);
+        }
+    }
+
+    private void control(PlayerComponent player, VelocityComponent velocity, ColliderComponent collider, float delta) {
+        if (player.leftPressed) {
+
+            velocity.velocity.x = -PlayerComponent.MAX_VELOCITY;
+            if (collider.grounded) {
+                player.state = State.Walking;
+            }
+            player.facingRight = false;
+        }
+
+        if (player.rightPressed) {
+
+            velocity.velocity.x = PlayerComponent.MAX_VELOCITY;
+            if (collider.grounded) {
+                player.state = State.Walking;
+            }
+            player.facingRight = true;
+        }
+
+        if (player.state != State.Falling) {
+            if (velocity.velocity.y < 0) {
+                player.state = State.Falling;
+                collider.grounded = false;
+            }
+        }
+
+        velocity.acceleration.y = PlayerComponent.GRAVITY;
+        velocity.acceleration.scl(delta);
+        velocity.velocity.add(velocity.acceleration.x, velocity.acceleration.y);
+
+        // clamp the velocity to the maximum, x-axis only
+        if (Math.abs(velocity.velocity.x) > PlayerComponent.MAX_VELOCITY) {
+            velocity.velocity.x = Math.signum(velocity.velocity.x) * PlayerComponent.MAX_VELOCITY;
+        }
+
+        // clamp the velocity to 0 if it's < 1, and set the state to standing
+        if (Math.abs(velocity.velocity.x) < 1) {
+            velocity.velocity.x = 0;
+            if (collider.grounded) {
+                player.state = State.Standing;
+            }
+        }
+
+        player.stateTime += delta;
+    }
+
+    /**
+     * @param now the number of the tick, jumps are timed in ticks so they play out the same in every run
+     */
+    public void pressJump(Entity entity, long now) {
+        PlayerComponent player = Mappers.player.get(entity);
+        VelocityComponent velocity = Mappers.velocity.get(entity);
+        ColliderComponent collider = Mappers.collider.get(entity);
+
+        // check input and apply to velocity & state
+        if (collider.grounded && player.state != State.Falling) {
+            if (player.state != State.Jumping) {
+                player.jumpingPressed = true;
+                collider.grounded = false;
+                player.jumpPressedTick = now;
+                player.state = State.Jumping;
+                velocity.velocity.y = PlayerComponent.MAX_JUMP_SPEED;
+            } else {
+
+                if ((player.jumpingPressed && ((now - player.jumpPressedTick) * tick * 1000 >= PlayerComponent.LONG_JUMP_PRESS))) {
+                    player.jumpingPressed = false;
+                } else {
+                    if (player.jumpingPressed) {
+                        velocity.velocity.y = PlayerComponent.MAX_JUMP_SPEED;
+                    }
+                }
+            }
+        }
+    }
+
+    public void releaseJump(Entity entity) {
+        PlayerComponent player = Mappers.player.get(entity);
+        VelocityComponent velocity = Mappers.velocity.get(entity);
+
+        if (player.state == State.Jumping) {
+            velocity.acceleration.y = PlayerComponent.GRAVITY;
+            velocity.acceleration.scl(tick);
+            velocity.velocity.add(velocity.acceleration.x, velocity.acceleration.y);
+            player.state = State.Falling;
+            player.jumpingPressed = false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Runs a loop over a range of indices, split into chunks that may run at the same time. A task must only read shared
+ * state and write to the slots of its own indices. Core only has {@link #SERIAL}; platforms with threads pass a
+ * parallel one.
+ */
+public interface TaskRunner extends Disposable {
+
+    /** The body of the loop over [from, to). */
+    interface Task {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs the task over [0, count) in chunks of at least {@code grain} indices and returns when all of them are done.
+     */
+    void run(int count, int grain, Task task);
+
+    /**
+     * @return how many chunks can run at the same time, to size the grain so that every one gets a chunk
+     */
+    int getParallelism();
+
+    TaskRunner SERIAL = new TaskRunner() {
+        @Override
+        public void run(int count, int grain, Task task) {
+            task.run(0, count);
+        }
+
+        @Override
+        public int getParallelism() {
+            return 1;
+        }
+
+        @Override
+        public void dispose() {
+        }
+    };
+}
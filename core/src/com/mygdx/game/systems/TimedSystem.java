@@ -0,0 +1,42 @@
+package com.mygdx.game.systems;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * A system that measures how long its last update took, so the cost of every pass of the frame can be read off
+ * separately. Subclasses do their work in {@link #process(float)}.
+ */
+public abstract class TimedSystem extends EntitySystem {
+
+    private long nanos;
+    private long totalNanos;
+
+    public TimedSystem(int priority) {
+        super(priority);
+    }
+
+    @Override
+    public final void update(float delta) {
+        long start = TimeUtils.nanoTime();
+        process(delta);
+        nanos = TimeUtils.nanoTime() - start;
+        totalNanos += nanos;
+    }
+
+    protected abstract void process(float delta);
+
+    /**
+     * @return the duration of the last update, in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the duration of all updates so far, in nanoseconds; covers every tick of a frame that ran several
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+}
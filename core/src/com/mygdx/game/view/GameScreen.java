@@ -1,19 +1,76 @@
 package com.mygdx.game.view;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.game.Assets;
+import com.mygdx.game.MyGdxGame;
+import com.mygdx.game.controller.DebugOverlay;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.controller.InputController;
+import com.mygdx.game.controller.SimulationLoop;
+import com.mygdx.game.controller.SnapshotBuffer;
 import com.mygdx.game.controller.WorldRenderer;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.replay.InputRecorder;
+import com.mygdx.game.replay.Recording;
 
 /**
  * Created by jeffcailteux on 1/15/15.
  */
 public class GameScreen implements Screen {
 
-    private WorldRenderer renderer;
+    /** Shows and hides the debug overlay; showing it also starts the frame profiler for its phase bars. */
+    public static final int DEBUG_KEY = Keys.F3;
+
+    /** Starts and stops the frame profiler. */
+    public static final int PROFILER_KEY = Keys.F5;
+
+    /** Writes the profiled frames to a CSV file in the local storage. */
+    public static final int PROFILE_DUMP_KEY = Keys.F6;
 
-    public GameScreen(){
-        renderer = new WorldRenderer();
+    private final MyGdxGame game;
+    private GameWorld world;
+    private WorldRenderer renderer;
+    private InputRecorder recorder;
+    private SimulationLoop simulation;
+    private SnapshotBuffer snapshots;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final int updatePhase;
+    private boolean firstFrame = true;
+
+    /**
+     * @param assets must have finished loading {@link Assets#queue(AssetManager) the game's assets}
+     */
+    public GameScreen(MyGdxGame game, AssetManager assets){
+        this.game = game;
+        simulation = game.getSimulation();
+        // the renderer draws the tiles straight from the level, so a simulation thread must not stream it
+        Level level = simulation == null ? new Level(assets.get(Assets.LEVEL))
+                : new Level(assets.get(Assets.LEVEL), Integer.MAX_VALUE);
+        world = new GameWorld(level, assets.get(Assets.ENEMIES));
+        world.setTaskRunner(game.getTaskRunner());
+        if (game.getRecording() != null) {
+            // a replay runs every enemy on its tick, so the recording has to as well
+            world.getFiring().setBudget(Long.MAX_VALUE);
+            recorder = new InputRecorder(new Recording(Assets.LEVEL.fileName, Recording.DEFAULT_HASH_INTERVAL));
+            world.setTickListener(recorder);
+        }
+        renderer = new WorldRenderer(world, assets.get(Assets.ATLAS), assets.get(Assets.FONT));
+        if (simulation != null) {
+            snapshots = new SnapshotBuffer();
+            renderer.setSnapshots(snapshots);
+        }
+        updatePhase = profiler.addPhase("update");
+        renderer.setProfiler(profiler);
+        profiler.addSystems(world.getEngine());
+        profiler.setListener(game.getProfilerListener());
+        Gdx.input.setInputProcessor(new InputController(world));
     }
 
     @Override
@@ -22,7 +79,40 @@ public class GameScreen implements Screen {
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        profiler.beginFrame();
+        // with a simulation thread the systems are timed there and the update phase stays empty
+        if (simulation == null) world.update(delta);
+        profiler.end(updatePhase);
         renderer.render(delta);
+        profiler.endFrame();
+
+        if (Gdx.input.isKeyJustPressed(DEBUG_KEY)) {
+            DebugOverlay debug = renderer.getDebugOverlay();
+            debug.setEnabled(!debug.isEnabled());
+            if (debug.isEnabled()) profiler.setEnabled(true);
+        }
+        if (Gdx.input.isKeyJustPressed(PROFILER_KEY)) {
+            profiler.setEnabled(!profiler.isEnabled());
+            Gdx.app.log("GameScreen", "Profiler " + (profiler.isEnabled() ? "on" : "off"));
+        }
+        if (Gdx.input.isKeyJustPressed(PROFILE_DUMP_KEY)) dumpProfile();
+
+        if (firstFrame) {
+            firstFrame = false;
+            game.logSinceStart("first game frame");
+        }
+    }
+
+    /**
+     * Writes the frames in the profiler's buffer to profile-time.csv in the local storage. The update column includes
+     * the simulation systems, the columns named after systems break it down.
+     */
+    private void dumpProfile() {
+        FileHandle file = Gdx.files.local("profile-" + TimeUtils.millis() + ".csv");
+        profiler.writeCsv(file);
+        Gdx.app.log("GameScreen", "Wrote " + profiler.getFrameCount() + " frames to " + file.path() + ", input latency up to "
+                + world.getMaxInputLatency() / 1000 + " us");
+        world.resetMaxInputLatency();
     }
 
     @Override
@@ -32,26 +122,33 @@ public class GameScreen implements Screen {
 
     @Override
     public void show() {
-
+        if (simulation != null) simulation.start(world, snapshots);
     }
 
     @Override
     public void hide() {
-
+        if (simulation != null) simulation.stop();
+        if (recorder != null) {
+            Recording recording = recorder.getRecording();
+            recording.write(game.getRecording());
+            Gdx.app.log("GameScreen", "Recorded " + recording.getTickCount() + " ticks to " + game.getRecording());
+        }
     }
 
     @Override
     public void pause() {
-
+        if (simulation != null) simulation.pause();
     }
 
     @Override
     public void resume() {
-
+        if (simulation != null) simulation.resume();
     }
 
     @Override
     public void dispose() {
-
+        renderer.dispose();
+        world.dispose();
+        world.getLevel().dispose();
     }
 }
@@ -0,0 +1,90 @@
+package com.mygdx.game.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.mygdx.game.MyGdxGame;
+
+/**
+ * Shown while the {@link AssetManager} loads. Draws a progress bar with a ShapeRenderer, so it needs no assets of its
+ * own and its first frame appears right after start up. Switches to the {@link GameScreen} once everything is loaded.
+ */
+public class LoadingScreen implements Screen {
+
+    /** Milliseconds per frame the asset manager may block the render thread. */
+    private static final int UPDATE_BUDGET = 16;
+
+    private final MyGdxGame game;
+    private final AssetManager assets;
+    private ShapeRenderer shapeRenderer;
+    private boolean firstFrame = true;
+
+    public LoadingScreen(MyGdxGame game, AssetManager assets) {
+        this.game = game;
+        this.assets = assets;
+    }
+
+    @Override
+    public void show() {
+        shapeRenderer = new ShapeRenderer();
+    }
+
+    @Override
+    public void render(float delta) {
+
+        if (assets.update(UPDATE_BUDGET)) {
+            game.setScreen(new GameScreen(game, assets));
+            return;
+        }
+
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float width = Gdx.graphics.getWidth() * 0.6f;
+        float x = (Gdx.graphics.getWidth() - width) / 2;
+        float y = Gdx.graphics.getHeight() / 2;
+
+        shapeRenderer.begin(ShapeType.Filled);
+        shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1);
+        shapeRenderer.rect(x, y, width, 8);
+        shapeRenderer.setColor(1, 1, 1, 1);
+        shapeRenderer.rect(x, y, width * assets.getProgress(), 8);
+        shapeRenderer.end();
+
+        if (firstFrame) {
+            firstFrame = false;
+            game.logSinceStart("first loading frame");
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        shapeRenderer.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+    }
+
+    @Override
+    public void hide() {
+        dispose();
+    }
+
+    @Override
+    public void pause() {
+
+    }
+
+    @Override
+    public void resume() {
+
+    }
+
+    @Override
+    public void dispose() {
+        if (shapeRenderer != null) {
+            shapeRenderer.dispose();
+            shapeRenderer = null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mygdx.game.desktop;
+
+import com.mygdx.game.profiling.FrameProfiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Emits every profiled phase as a JDK Flight Recorder event, so frame phases line up with GC pauses, JIT and thread
+ * activity in a recording ({@code -XX:StartFlightRecording}). Unless a recording enables the events, a frame costs one
+ * check of the event type and nothing is allocated. Lives in its own source set, as the only code that needs jdk.jfr
+ * to compile; {@link DesktopLauncher} loads it by name. Constructing it on a JVM without JFR throws a
+ * {@link LinkageError}. */
+public class JfrProfilerListener implements FrameProfiler.Listener {
+	@Name("com.mygdx.game.FramePhase")
+	@Label("Frame Phase")
+	@Description("Time a phase of a frame took, as measured by the frame profiler")
+	@Category("Game")
+	@StackTrace(false)
+	static class FramePhaseEvent extends Event {
+		@Label("Phase") String phase;
+		@Label("Time") @Timespan(Timespan.NANOSECONDS) long nanos;
+	}
+
+	private final EventType type = EventType.getEventType(FramePhaseEvent.class);
+
+	@Override
+	public boolean isListening () {
+		return type.isEnabled();
+	}
+
+	@Override
+	public void phaseEnded (String phase, long nanos) {
+		FramePhaseEvent event = new FramePhaseEvent();
+		event.phase = phase;
+		event.nanos = nanos;
+		event.commit();
+	}
+}
@@ -2,11 +2,53 @@ package com.mygdx.game.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
 import com.mygdx.game.MyGdxGame;
+import com.mygdx.game.controller.SimulationThread;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.systems.TaskRunner;
 
+/** Starts the game. Enemies decide on all cores; pass {@code --serial} to keep everything on the render thread.
+ * {@code --sim-thread} ticks the world on a thread of its own instead of before each frame.
+ * {@code --record file} saves the input of the game to the file on exit, for {@link ReplayRunner}. Profiled frames
+ * (F5) also go to JFR where the JVM has it. */
 public class DesktopLauncher {
+	/** Built from desktop/src-jfr, the only code that needs jdk.jfr to compile. */
+	static final String JFR_LISTENER = "com.mygdx.game.desktop.JfrProfilerListener";
+
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
-		new LwjglApplication(new MyGdxGame(), config);
+		TaskRunner runner = hasArg(arg, "--serial") ? TaskRunner.SERIAL : new ForkJoinTaskRunner();
+		MyGdxGame game = new MyGdxGame(MappedLevelFile.OPENER, runner);
+		String recording = argValue(arg, "--record");
+		if (recording != null) game.setRecording(new FileHandle(recording));
+		if (hasArg(arg, "--sim-thread")) game.setSimulation(new SimulationThread());
+		game.setProfilerListener(jfrListener());
+		new LwjglApplication(game, config);
+	}
+
+	/** @return the listener of the jfr source set, or null where it wasn't built or the JVM has no JFR */
+	static FrameProfiler.Listener jfrListener () {
+		try {
+			return (FrameProfiler.Listener)Class.forName(JFR_LISTENER).newInstance();
+		} catch (ReflectiveOperationException e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	static boolean hasArg (String[] args, String name) {
+		for (String arg : args) {
+			if (arg.equals(name)) return true;
+		}
+		return false;
+	}
+
+	static String argValue (String[] args, String name) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(name)) return args[i + 1];
+		}
+		return null;
 	}
 }
@@ -0,0 +1,62 @@
+package com.mygdx.game.desktop;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.mygdx.game.systems.TaskRunner;
+
+/** Runs tasks on a {@link ForkJoinPool}, splitting the range in halves down to the grain. A range no larger than the grain
+ * runs on the calling thread without touching the pool. */
+public class ForkJoinTaskRunner implements TaskRunner {
+	private final ForkJoinPool pool;
+
+	/** One worker per core. */
+	public ForkJoinTaskRunner () {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public ForkJoinTaskRunner (int parallelism) {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@Override
+	public void run (int count, int grain, Task task) {
+		if (count <= grain) {
+			task.run(0, count);
+			return;
+		}
+		pool.invoke(new Split(task, 0, count, grain));
+	}
+
+	@Override
+	public int getParallelism () {
+		return pool.getParallelism();
+	}
+
+	@Override
+	public void dispose () {
+		pool.shutdown();
+	}
+
+	private static class Split extends RecursiveAction {
+		private final Task task;
+		private final int from, to, grain;
+
+		Split (Task task, int from, int to, int grain) {
+			this.task = task;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute () {
+			if (to - from <= grain) {
+				task.run(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Split(task, from, middle, grain), new Split(task, middle, to, grain));
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+/** Brings up the headless backend once per JVM. The headless backend has no GL, so a {@link NoOpGL20} is installed
+ * that lets textures, shaders and meshes be created and "drawn" without a context. The working directory has to be
+ * the assets folder, like for the desktop launcher. */
+public final class HeadlessBootstrap {
+
+	private static boolean initialized;
+
+	private HeadlessBootstrap () {
+	}
+
+	public static synchronized void init () {
+		if (initialized) return;
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = -1;
+		new HeadlessApplication(new ApplicationAdapter() {}, config);
+
+		GL20 gl = new NoOpGL20();
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+
+		initialized = true;
+	}
+}
@@ -0,0 +1,185 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelChunk;
+import com.mygdx.game.model.LevelFile;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/** Compiles Tiled maps (.tmx) into chunked {@link LevelFile}s (.lvl), so the game never parses XML, decodes base64 or
+ * inflates layers at run time. Chunks are written ready to use: raw tile ids, the collision words of
+ * {@link Level#COLLISION_LAYER} and a checksum. Object groups become the level's objects.
+ *
+ * Usage: LevelCompiler directory, compiles every .tmx file of the directory into a .lvl file next to it. */
+public class LevelCompiler {
+	/* tiled stores flips in the top bits of a gid; chunks hold plain tile ids */
+	private static final int FLIP_FLAGS = 0xE0000000;
+
+	public static void main (String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: LevelCompiler <directory>");
+			System.exit(1);
+		}
+		File[] files = new File(args[0]).listFiles();
+		if (files == null) throw new IOException("Not a directory: " + args[0]);
+		for (File tmx : files) {
+			if (!tmx.getName().endsWith(".tmx")) continue;
+			File lvl = new File(tmx.getParentFile(), tmx.getName().substring(0, tmx.getName().length() - 4) + ".lvl");
+			compile(tmx, lvl);
+			System.out.println(tmx + " -> " + lvl);
+		}
+	}
+
+	public static void compile (File tmx, File lvl) throws IOException {
+		Element map = new XmlReader().parse(new FileHandle(tmx));
+		int width = map.getIntAttribute("width");
+		int height = map.getIntAttribute("height");
+
+		Element tileset = map.getChildByName("tileset");
+		if (tileset == null || tileset.getAttribute("source", null) != null)
+			throw new GdxRuntimeException("Expected one embedded tileset in " + tmx);
+		if (map.getChildrenByName("tileset").size > 1) throw new GdxRuntimeException("Only one tileset is supported: " + tmx);
+
+		Array<Element> layers = map.getChildrenByName("layer");
+		int[][] tiles = new int[layers.size][];
+		for (int i = 0; i < layers.size; i++) {
+			tiles[i] = decode(layers.get(i), width * height);
+		}
+
+		int tileWidth = map.getIntAttribute("tilewidth");
+		int tileHeight = map.getIntAttribute("tileheight");
+		int chunkCount = (width + LevelChunk.WIDTH - 1) / LevelChunk.WIDTH;
+
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(headerBytes);
+		header.writeInt(width);
+		header.writeInt(height);
+		header.writeInt(tileWidth);
+		header.writeInt(tileHeight);
+		header.writeInt(layers.size);
+		header.writeInt(chunkCount);
+		header.writeUTF(tileset.getChildByName("image").getAttribute("source"));
+		header.writeInt(tileset.getIntAttribute("firstgid", 1));
+		header.writeInt(tileset.getIntAttribute("spacing", 0));
+		header.writeInt(tileset.getIntAttribute("margin", 0));
+		writeObjects(header, map, height * tileHeight, tileWidth, tileHeight);
+		header.close();
+		byte[] headerData = headerBytes.toByteArray();
+
+		LevelChunk chunk = new LevelChunk(height, layers.size);
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(lvl)));
+		try {
+			out.writeInt(LevelFile.MAGIC);
+			out.writeInt(LevelFile.VERSION);
+			out.writeInt(LevelFile.PREAMBLE_SIZE + headerData.length);
+			out.writeInt(LevelFile.checksum(LevelFile.FNV_BASIS, headerData, 0, headerData.length));
+			out.write(headerData);
+
+			for (int index = 0; index < chunkCount; index++) {
+				chunk.reset(index);
+				for (int layer = 0; layer < layers.size; layer++) {
+					// tiled stores rows top down, levels bottom up
+					for (int y = 0; y < height; y++) {
+						int row = (height - 1 - y) * width;
+						for (int x = 0; x < LevelChunk.WIDTH && chunk.getX() + x < width; x++) {
+							int id = tiles[layer][row + chunk.getX() + x] & ~FLIP_FLAGS;
+							chunk.setTile(layer, x, y, id);
+							if (layer == Level.COLLISION_LAYER && id != 0) chunk.setSolid(x, y, true);
+						}
+					}
+				}
+				for (int id : chunk.getTiles()) {
+					out.writeInt(id);
+				}
+				for (long word : chunk.getSolid()) {
+					out.writeLong(word);
+				}
+				out.writeInt(LevelFile.checksum(chunk.getTiles(), chunk.getSolid()));
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/** Writes every object of every object group, converted to tiles with y pointing up. */
+	private static void writeObjects (DataOutputStream out, Element map, int heightInPixels, int tileWidth, int tileHeight)
+		throws IOException {
+		Array<Element> objects = new Array<Element>();
+		for (Element group : map.getChildrenByName("objectgroup")) {
+			objects.addAll(group.getChildrenByName("object"));
+		}
+		out.writeInt(objects.size);
+		for (Element object : objects) {
+			float width = object.getFloatAttribute("width", 0);
+			float height = object.getFloatAttribute("height", 0);
+			// tile objects are anchored at their bottom left, everything else at the top left
+			float bottom = object.getFloatAttribute("y", 0) + (object.getAttribute("gid", null) == null ? height : 0);
+			out.writeUTF(object.getAttribute("type", ""));
+			out.writeUTF(object.getAttribute("name", ""));
+			out.writeFloat(object.getFloatAttribute("x", 0) / tileWidth);
+			out.writeFloat((heightInPixels - bottom) / tileHeight);
+			out.writeFloat(width / tileWidth);
+			out.writeFloat(height / tileHeight);
+		}
+	}
+
+	/** @return the gids of a layer, row by row from the top */
+	private static int[] decode (Element layer, int count) throws IOException {
+		Element data = layer.getChildByName("data");
+		String encoding = data.getAttribute("encoding", null);
+		int[] gids = new int[count];
+
+		if ("csv".equals(encoding)) {
+			String[] values = data.getText().trim().split("\\s*,\\s*");
+			for (int i = 0; i < count; i++) {
+				gids[i] = (int)Long.parseLong(values[i]);
+			}
+		} else if ("base64".equals(encoding)) {
+			byte[] bytes = Base64Coder.decode(data.getText().trim());
+			String compression = data.getAttribute("compression", null);
+			if ("zlib".equals(compression)) {
+				bytes = readAll(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+			} else if ("gzip".equals(compression)) {
+				bytes = readAll(new GZIPInputStream(new ByteArrayInputStream(bytes)));
+			} else if (compression != null) {
+				throw new GdxRuntimeException("Unsupported compression: " + compression);
+			}
+			for (int i = 0; i < count; i++) {
+				int b = i * 4;
+				gids[i] = (bytes[b] & 0xFF) | (bytes[b + 1] & 0xFF) << 8 | (bytes[b + 2] & 0xFF) << 16 | (bytes[b + 3] & 0xFF) << 24;
+			}
+		} else {
+			throw new GdxRuntimeException("Unsupported layer encoding: " + encoding);
+		}
+		return gids;
+	}
+
+	private static byte[] readAll (InputStream in) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.model.StreamLevelFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/** Reads chunks straight out of the level file mapped into memory, so loading a chunk is a bulk copy of its ints and
+ * longs. Only works for files on disk; {@link #OPENER} falls back to a {@link StreamLevelFile} for the ones packed in a
+ * jar. */
+public class MappedLevelFile extends LevelFile {
+	public static final Opener OPENER = new Opener() {
+		@Override
+		public LevelFile open (FileHandle file) {
+			return canMap(file) ? new MappedLevelFile(file) : new StreamLevelFile(file);
+		}
+	};
+
+	private final MappedByteBuffer buffer;
+
+	public MappedLevelFile (FileHandle file) {
+		super(file);
+		try {
+			RandomAccessFile input = new RandomAccessFile(file.file(), "r");
+			try {
+				FileChannel channel = input.getChannel();
+				buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			} finally {
+				// the mapping stays valid after the channel is closed
+				input.close();
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't map level " + file, e);
+		}
+	}
+
+	/** @return whether the file is a plain file on disk; internal files may be classpath resources */
+	public static boolean canMap (FileHandle file) {
+		if (file.type() == FileType.Classpath) return false;
+		File onDisk = file.file();
+		return onDisk.isFile();
+	}
+
+	@Override
+	protected int readChunk (long offset, int[] tiles, long[] solid) {
+		// a view per read, so the shared position of the mapping is never touched
+		ByteBuffer chunk = buffer.duplicate();
+		chunk.position((int)offset);
+		chunk.asIntBuffer().get(tiles);
+		chunk.position(chunk.position() + tiles.length * 4);
+		chunk.asLongBuffer().get(solid);
+		chunk.position(chunk.position() + solid.length * 8);
+		return chunk.getInt();
+	}
+}
@@ -0,0 +1,61 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.model.Archetypes;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.physics.TilePhysics;
+import com.mygdx.game.replay.InputRecorder;
+import com.mygdx.game.replay.Recording;
+import com.mygdx.game.systems.BulletSystem;
+
+/** Replays a recording made with {@code DesktopLauncher --record} without a window, as fast as the simulation runs, and
+ * checks the state hashes against the recorded ones. Exits with 1 at the first interval that differs, so a change that
+ * breaks determinism fails the build.
+ *
+ * Usage: ReplayRunner recording, run from the assets directory. */
+public class ReplayRunner {
+	public static void main (String[] args) {
+		if (args.length != 1) {
+			System.err.println("Usage: ReplayRunner <recording>");
+			System.exit(1);
+		}
+		Recording recording = Recording.read(new FileHandle(args[0]));
+		System.exit(replay(recording) ? 0 : 1);
+	}
+
+	/** @return whether the replay ended in the recorded state */
+	public static boolean replay (Recording recording) {
+		Level level = new Level(MappedLevelFile.OPENER.open(new FileHandle(recording.getLevel())));
+		GameWorld world = new GameWorld(level, Archetypes.load(new FileHandle(Archetypes.FILE)), BulletSystem.DEFAULT_CAPACITY,
+			new TilePhysics(level));
+		world.getFiring().setBudget(Long.MAX_VALUE);
+		Recording replayed = new Recording(recording.getLevel(), recording.getHashInterval());
+		world.setTickListener(new InputRecorder(replayed));
+
+		boolean same = true;
+		int ticks = recording.getTickCount();
+		long start = System.nanoTime();
+		for (int tick = 0; tick < ticks && same; tick++) {
+			world.setInput(recording.getInput(tick));
+			world.step();
+			int hashes = replayed.getHashCount();
+			if ((tick + 1) % recording.getHashInterval() == 0 && replayed.getHash(hashes - 1) != recording.getHash(hashes - 1)) {
+				System.err.println("Diverged between ticks " + (tick + 1 - recording.getHashInterval()) + " and " + (tick + 1));
+				same = false;
+			}
+		}
+		if (same && replayed.getFinalHash() != recording.getFinalHash()) {
+			System.err.println("Diverged after the last full interval");
+			same = false;
+		}
+		long nanos = System.nanoTime() - start;
+
+		System.out.println("Replayed " + replayed.getTickCount() + " of " + ticks + " ticks (" + recording.getRunCount()
+			+ " input runs) in " + nanos / 1000000 + " ms, " + (long)(replayed.getTickCount() * 1e9 / Math.max(nanos, 1))
+			+ " ticks/s: " + (same ? "identical" : "DIVERGED"));
+		world.dispose();
+		level.dispose();
+		return same;
+	}
+}
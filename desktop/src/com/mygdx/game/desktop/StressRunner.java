@@ -0,0 +1,260 @@
+package com.mygdx.game.desktop;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.mygdx.game.Assets;
+import com.mygdx.game.components.Mappers;
+import com.mygdx.game.components.PlayerComponent;
+import com.mygdx.game.controller.ActiveRegion;
+import com.mygdx.game.controller.GameWorld;
+import com.mygdx.game.controller.WorldRenderer;
+import com.mygdx.game.model.Level;
+import com.mygdx.game.model.LevelFile;
+import com.mygdx.game.systems.TaskRunner;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.Random;
+
+/** Runs the game on the headless backend, with extra enemies and a stream of extra bullets, and writes tick and frame
+ * time percentiles, heap, GC and allocation figures as JSON. Needs neither a display nor a GPU ({@link NoOpGL20}), so
+ * build servers can run capacity tests and compare builds. Every frame is one tick and a render, the player's input is
+ * scripted and the extras are placed from a fixed seed, so two runs with the same parameters do the same work.
+ *
+ * Usage: StressRunner [--level file] [--enemies count] [--bullets per second] [--ticks count] [--warmup ticks]
+ * [--serial] [--out file], run from the assets directory. Writes to stdout without --out. */
+public class StressRunner {
+	public static final int DEFAULT_ENEMIES = 1000;
+	public static final int DEFAULT_BULLETS = 300;
+	/** Five minutes of play. */
+	public static final int DEFAULT_TICKS = 5 * 60 * 60;
+	public static final int DEFAULT_WARMUP = 60 * 60;
+
+	private static final long SEED = 42;
+	private static final float BULLET_SPEED = 8;
+
+	private final GameWorld world;
+	private final WorldRenderer renderer;
+	private final float bulletsPerTick;
+	private final Random random = new Random(SEED);
+
+	private float bulletDebt;
+	private int tick;
+	private int maxBullets;
+
+	public StressRunner (GameWorld world, WorldRenderer renderer, int enemies, float bulletsPerSecond) {
+		this.world = world;
+		this.renderer = renderer;
+		bulletsPerTick = bulletsPerSecond * GameWorld.TICK;
+
+		// in the upper half, out of the player's reach: a hit respawns the player and clears every bullet
+		Level level = world.getLevel();
+		float bottom = level.getHeight() / 2;
+		for (int i = 0; i < enemies; i++) {
+			world.addEnemy(random.nextFloat() * (level.getWidth() - 2), bottom + random.nextFloat() * (level.getHeight() - bottom - 2));
+		}
+	}
+
+	public static void main (String[] args) throws IOException {
+		String levelName = value(args, "--level", Assets.LEVEL.fileName);
+		int enemies = Integer.parseInt(value(args, "--enemies", String.valueOf(DEFAULT_ENEMIES)));
+		float bullets = Float.parseFloat(value(args, "--bullets", String.valueOf(DEFAULT_BULLETS)));
+		int ticks = Integer.parseInt(value(args, "--ticks", String.valueOf(DEFAULT_TICKS)));
+		int warmup = Integer.parseInt(value(args, "--warmup", String.valueOf(DEFAULT_WARMUP)));
+		boolean serial = DesktopLauncher.hasArg(args, "--serial");
+		String out = DesktopLauncher.argValue(args, "--out");
+
+		HeadlessBootstrap.init();
+		AssetManager assets = new AssetManager();
+		Assets.queue(assets, MappedLevelFile.OPENER);
+		assets.load(levelName, LevelFile.class);
+		assets.finishLoading();
+		Level level = new Level(assets.get(levelName, LevelFile.class));
+		GameWorld world = new GameWorld(level, assets.get(Assets.ENEMIES));
+		TaskRunner runner = serial ? TaskRunner.SERIAL : new ForkJoinTaskRunner();
+		world.setTaskRunner(runner);
+		WorldRenderer renderer = new WorldRenderer(world, assets.get(Assets.ATLAS), assets.get(Assets.FONT));
+		StressRunner stress = new StressRunner(world, renderer, enemies, bullets);
+
+		stress.run(warmup, null, null);
+		Stats stats = stress.measure(ticks);
+
+		Writer writer = out == null ? new OutputStreamWriter(System.out) : new FileWriter(out);
+		JsonWriter json = new JsonWriter(writer);
+		json.setOutputType(JsonWriter.OutputType.json);
+		json.object();
+		json.set("level", levelName);
+		json.set("enemies", world.getEnemies().size);
+		json.set("bulletsPerSecond", bullets);
+		json.set("ticks", ticks);
+		json.set("warmup", warmup);
+		json.set("runner", serial ? "serial" : "forkjoin");
+		json.set("maxBullets", stress.maxBullets);
+		stats.write(json);
+		json.pop();
+		json.flush();
+		writer.write('\n');
+		writer.close();
+
+		renderer.dispose();
+		world.dispose();
+		level.dispose();
+		runner.dispose();
+		assets.dispose();
+		System.exit(0);
+	}
+
+	/** Runs the given number of frames and records the tick and frame time of each, if arrays are given. */
+	public void run (int frames, long[] tickNanos, long[] frameNanos) {
+		for (int frame = 0; frame < frames; frame++, tick++) {
+			boolean left = (tick / 97) % 3 == 0;
+			world.setLeftPressed(left);
+			world.setRightPressed(!left);
+			if (tick % 41 == 0) world.pressJump();
+			if (tick % 41 == 9) world.releaseJump();
+			spawnBullets();
+
+			long start = System.nanoTime();
+			world.step();
+			long ticked = System.nanoTime();
+			renderer.render(GameWorld.TICK);
+			long end = System.nanoTime();
+
+			if (tickNanos != null) {
+				tickNanos[frame] = ticked - start;
+				frameNanos[frame] = end - start;
+			}
+			maxBullets = Math.max(maxBullets, world.getBullets().size());
+		}
+	}
+
+	/** Runs the given number of frames and collects their figures; heap peaks and GC counts cover only these frames. */
+	public Stats measure (int frames) {
+		Stats stats = new Stats(frames);
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			pool.resetPeakUsage();
+		}
+		long gcCount = -gcCount();
+		long gcMillis = -gcMillis();
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long allocated = -threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+
+		run(frames, stats.tickNanos, stats.frameNanos);
+
+		stats.nanos = System.nanoTime() - start;
+		stats.allocatedBytes = allocated + threads.getThreadAllocatedBytes(thread);
+		stats.gcCount = gcCount + gcCount();
+		stats.gcMillis = gcMillis + gcMillis();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) stats.peakHeapBytes += pool.getPeakUsage().getUsed();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		stats.usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+		stats.maxHeapBytes = runtime.maxMemory();
+		return stats;
+	}
+
+	/** Fires the extra bullets due this tick from random open tiles of the active region, left or right. The rows of the
+	 * player are left out: a hit respawns the player and clears every bullet. */
+	private void spawnBullets () {
+		Vector2 player = Mappers.position.get(world.getPlayer()).position;
+		ActiveRegion region = world.getActiveRegion();
+		Level level = world.getLevel();
+		for (bulletDebt += bulletsPerTick; bulletDebt >= 1; bulletDebt--) {
+			float x = region.getLeft() + random.nextFloat() * (region.getRight() - region.getLeft());
+			float y = region.getBottom() + random.nextFloat() * (region.getTop() - region.getBottom());
+			if (y > player.y - 1 && y < player.y + PlayerComponent.HEIGHT + 1) continue;
+			if (level.isSolid((int)x, (int)y)) continue;
+			world.spawnBullet(x, y, random.nextBoolean() ? BULLET_SPEED : -BULLET_SPEED, 0);
+		}
+	}
+
+	private static long gcCount () {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(gc.getCollectionCount(), 0);
+		}
+		return count;
+	}
+
+	private static long gcMillis () {
+		long millis = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(gc.getCollectionTime(), 0);
+		}
+		return millis;
+	}
+
+	private static String value (String[] args, String name, String defaultValue) {
+		String value = DesktopLauncher.argValue(args, name);
+		return value == null ? defaultValue : value;
+	}
+
+	/** The figures of a measured run. */
+	public static class Stats {
+		final long[] tickNanos;
+		final long[] frameNanos;
+		long nanos;
+		long allocatedBytes;
+		long gcCount;
+		long gcMillis;
+		long peakHeapBytes;
+		long usedHeapBytes;
+		long maxHeapBytes;
+
+		Stats (int frames) {
+			tickNanos = new long[frames];
+			frameNanos = new long[frames];
+		}
+
+		void write (JsonWriter json) throws IOException {
+			float seconds = nanos / 1e9f;
+			int frames = tickNanos.length;
+			json.set("ticksPerSecond", frames / seconds);
+			writePercentiles(json, "tickMillis", tickNanos);
+			writePercentiles(json, "frameMillis", frameNanos);
+			json.object("heap");
+			json.set("usedBytes", usedHeapBytes);
+			json.set("peakBytes", peakHeapBytes);
+			json.set("maxBytes", maxHeapBytes);
+			json.pop();
+			json.object("gc");
+			json.set("count", gcCount);
+			json.set("millis", gcMillis);
+			json.pop();
+			json.object("allocation");
+			json.set("bytes", allocatedBytes);
+			json.set("bytesPerTick", allocatedBytes / Math.max(frames, 1));
+			json.set("bytesPerSecond", (long)(allocatedBytes / seconds));
+			json.pop();
+		}
+
+		private static void writePercentiles (JsonWriter json, String name, long[] nanos) throws IOException {
+			long[] sorted = nanos.clone();
+			Arrays.sort(sorted);
+			json.object(name);
+			json.set("p50", percentile(sorted, 50));
+			json.set("p95", percentile(sorted, 95));
+			json.set("p99", percentile(sorted, 99));
+			json.set("max", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6f);
+			json.pop();
+		}
+
+		/** Nearest rank, in milliseconds. */
+		private static float percentile (long[] sorted, int percent) {
+			if (sorted.length == 0) return 0;
+			int rank = (int)Math.ceil(percent / 100.0 * sorted.length);
+			return sorted[Math.max(rank - 1, 0)] / 1e6f;
+		}
+	}
+}